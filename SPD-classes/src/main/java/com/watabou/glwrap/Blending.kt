@@ -22,6 +22,7 @@ package com.watabou.glwrap
 
 import com.badlogic.gdx.Gdx
 import com.badlogic.gdx.graphics.GL20
+import com.watabou.noosa.QuadBatch
 
 /**
  * Set blending mode to normal.
@@ -47,22 +48,36 @@ fun withoutBlending(function: () -> Any) {
 
 /**
  * Overlapping pixels with alpha component will interact with each other as expected.
+ *
+ * Blending state changes flush the pending [QuadBatch], as its quads were queued under the old state.
  */
-fun enableBlending() = Gdx.gl.glEnable(GL20.GL_BLEND)
+fun enableBlending() {
+    QuadBatch.flush()
+    Gdx.gl.glEnable(GL20.GL_BLEND)
+}
 
 /**
  * Alpha value of pixels is ignored.
  *
  * Use this to render visuals with no alpha component to improve performance.
  */
-fun disableBlending() = Gdx.gl.glDisable(GL20.GL_BLEND)
+fun disableBlending() {
+    QuadBatch.flush()
+    Gdx.gl.glDisable(GL20.GL_BLEND)
+}
 
 /**
  * In this mode colors overwrite each other based on alpha value.
  */
-fun setNormalMode() = Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA)
+fun setNormalMode() {
+    QuadBatch.flush()
+    Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA)
+}
 
 /**
  * In this mode colors add to each other eventually reaching pure white.
  */
-fun setLightMode() = Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE)
+fun setLightMode() {
+    QuadBatch.flush()
+    Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE)
+}
@@ -23,8 +23,12 @@ package com.watabou.glwrap
 import com.badlogic.gdx.Gdx
 import com.badlogic.gdx.graphics.GL20
 import com.badlogic.gdx.graphics.Pixmap
+import com.badlogic.gdx.utils.BufferUtils
+import com.watabou.noosa.FrameProfiler
 import com.watabou.utils.RectF
 import com.watabou.utils.getAsset
+import java.nio.Buffer
+import java.nio.ByteBuffer
 
 open class Texture(
     @JvmField var bitmap: Pixmap,
@@ -34,6 +38,22 @@ open class Texture(
 
     private var id = -1
 
+    /**
+     * Packed textures live inside a larger page built by [TextureAtlas] and share its GL texture.
+     * Their uv coordinates stay relative to their own bitmap and are [remapped][remapUV] onto the page when drawn.
+     */
+    var page: Texture? = null
+        private set
+    private var uOffset = 0f
+    private var vOffset = 0f
+    private var uScale = 1f
+    private var vScale = 1f
+
+    val packed
+        get() = page != null
+
+    internal var atlasPage = false
+
     val width
         get() = bitmap.width
     val height
@@ -52,18 +72,21 @@ open class Texture(
     }
 
     fun bind() {
+        page?.let { return it.bind() }
         if (id == -1) {
             generate()
         }
         if (id != boundId) {
             Gdx.gl.glBindTexture(GL20.GL_TEXTURE_2D, id)
             boundId = id
+            FrameProfiler.textureBinds++
         }
     }
 
+    // packed textures share their page's parameters, so filtering and wrapping can't be changed per texture
     fun filter(mode: Int) {
         filtering = mode
-        if (!generated) return
+        if (!generated || packed) return
         bind()
         Gdx.gl.glTexParameterf(GL20.GL_TEXTURE_2D, GL20.GL_TEXTURE_MIN_FILTER, mode.toFloat())
         Gdx.gl.glTexParameterf(GL20.GL_TEXTURE_2D, GL20.GL_TEXTURE_MAG_FILTER, mode.toFloat())
@@ -71,15 +94,17 @@ open class Texture(
 
     fun wrap(mode: Int) {
         wrapping = mode
-        if (!generated) return
+        if (!generated || packed) return
         bind()
         Gdx.gl.glTexParameterf(GL20.GL_TEXTURE_2D, GL20.GL_TEXTURE_WRAP_S, mode.toFloat())
         Gdx.gl.glTexParameterf(GL20.GL_TEXTURE_2D, GL20.GL_TEXTURE_WRAP_T, mode.toFloat())
     }
 
     private fun delete() {
-        Gdx.gl.glDeleteTexture(id)
-        if (boundId == id) boundId = 0
+        if (!packed) {
+            Gdx.gl.glDeleteTexture(id)
+            if (boundId == id) boundId = 0
+        }
         bitmap.dispose()
     }
 
@@ -99,7 +124,50 @@ open class Texture(
         bitmap = pixmap
     }
 
+    /**
+     * Uploads a sub-rectangle of [bitmap] after it has been drawn to, instead of the whole image.
+     *
+     * GLES 2 can't upload rows with a stride, so unless the rectangle spans the bitmap's full width
+     * its rows are first copied into a packed staging buffer.
+     */
+    fun updateRect(x: Int, y: Int, width: Int, height: Int) {
+        if (width <= 0 || height <= 0 || packed) return
+        // the whole bitmap is uploaded when the texture is generated
+        if (!generated) return
+        if (bitmap.format != Pixmap.Format.RGBA8888) return setImage(bitmap)
+
+        bind()
+        val rowBytes = width * 4
+        val pixels = bitmap.pixels
+        val data: ByteBuffer
+        if (x == 0 && width == bitmap.width) {
+            (pixels as Buffer).position(y * rowBytes)
+            data = pixels
+        } else {
+            data = staging(rowBytes * height)
+            for (row in y until y + height) {
+                val start = (row * bitmap.width + x) * 4
+                (pixels as Buffer).limit(start + rowBytes).position(start)
+                data.put(pixels)
+            }
+            (data as Buffer).flip()
+        }
+        Gdx.gl.glTexSubImage2D(
+            GL20.GL_TEXTURE_2D,
+            0,
+            x,
+            y,
+            width,
+            height,
+            bitmap.glFormat,
+            bitmap.glType,
+            data
+        )
+        (pixels as Buffer).clear()
+    }
+
     private fun reload() {
+        if (packed) return
         id = -1
         generate()
     }
@@ -111,6 +179,31 @@ open class Texture(
         bottom / bitmap.height
     )
 
+    /**
+     * Moves this texture into [page] at the given pixel position.
+     */
+    internal fun pack(page: Texture, x: Int, y: Int) {
+        this.page = page
+        uOffset = x.toFloat() / page.width
+        vOffset = y.toFloat() / page.height
+        uScale = width.toFloat() / page.width
+        vScale = height.toFloat() / page.height
+    }
+
+    /**
+     * Copies a quad's 16 vertex values, converting its uv coordinates into the GL texture's space.
+     * This only changes anything for [packed] textures.
+     */
+    @JvmOverloads // TODO: remove this after moving use cases to kotlin
+    fun remapUV(src: FloatArray, dst: FloatArray, dstOffset: Int = 0) {
+        for (i in 0 until 16 step 4) {
+            dst[dstOffset + i] = src[i]
+            dst[dstOffset + i + 1] = src[i + 1]
+            dst[dstOffset + i + 2] = uOffset + src[i + 2] * uScale
+            dst[dstOffset + i + 3] = vOffset + src[i + 3] * vScale
+        }
+    }
+
     fun uvRectBySize(left: Float, top: Float, width: Float, height: Float) = uvRect(left, top, left + width, top + height)
 
     companion object {
@@ -122,11 +215,17 @@ open class Texture(
 
         private var boundId = 0
 
+        private var stagingBuffer: ByteBuffer? = null
+
+        private fun staging(size: Int): ByteBuffer =
+            stagingBuffer?.takeIf { it.capacity() >= size }?.also { (it as Buffer).clear() }
+                ?: BufferUtils.newByteBuffer(size).also { stagingBuffer = it }
+
         fun reset() {
             boundId = 0
         }
 
-        private val all = HashMap<Any, Texture>()
+        internal val all = HashMap<Any, Texture>()
 
         @Synchronized
         fun createSolid(color: Int) = all["1x1:$color"] ?: Texture(Pixmap(1, 1, Pixmap.Format.RGBA8888).apply {
@@ -171,10 +270,16 @@ open class Texture(
             ).also { all[key] = it }
         }
 
+        // atlas pages and the textures packed into them are shared and always in use, so they are kept
         @Synchronized
         fun clear() {
-            all.values.forEach { it.delete() }
-            all.clear()
+            val iterator = all.values.iterator()
+            while (iterator.hasNext()) {
+                val texture = iterator.next()
+                if (texture.packed || texture.atlasPage) continue
+                texture.delete()
+                iterator.remove()
+            }
         }
 
         @Synchronized
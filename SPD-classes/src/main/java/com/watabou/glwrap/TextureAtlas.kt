@@ -0,0 +1,110 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2022 Evan Debenham
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+package com.watabou.glwrap
+
+import com.badlogic.gdx.graphics.Pixmap
+import com.watabou.utils.getAsset
+
+/**
+ * Packs small texture assets into a few large pages, so that visuals using different sheets
+ * share a GL texture and can be drawn in the same batch.
+ *
+ * Packed textures keep their own bitmap and size, so frames and [Texture.uvRect] lookups stay the same.
+ * Only their uv coordinates are [remapped][Texture.remapUV] onto the page when they are drawn.
+ */
+object TextureAtlas {
+
+    const val PAGE_SIZE = 1024
+
+    // transparent gap between packed textures, so that rounding at frame edges never samples a neighbour
+    private const val PADDING = 1
+
+    private var pages = 0
+
+    /**
+     * Loads and packs the given assets. Assets which are already loaded, or are too big for a page, are skipped.
+     * No GL calls are made, so this can be done off the render thread.
+     *
+     * Packed textures can't have their own filtering or wrapping, so only pass assets which use the defaults.
+     *
+     * @return number of pages created
+     */
+    @JvmStatic
+    @Synchronized
+    fun pack(assets: Collection<String>): Int {
+        val bitmaps = assets.distinct()
+            .filter { it !in Texture }
+            .map { it to Pixmap(getAsset(it)) }
+            .filter { (_, bitmap) ->
+                (bitmap.width + PADDING <= PAGE_SIZE && bitmap.height + PADDING <= PAGE_SIZE).also {
+                    if (!it) bitmap.dispose()
+                }
+            }
+            // tallest first makes for tighter shelves
+            .sortedByDescending { (_, bitmap) -> bitmap.height }
+
+        var created = 0
+        var page: Pixmap? = null
+        var placed = ArrayList<Triple<String, Pixmap, IntArray>>()
+        var x = 0
+        var y = 0
+        var shelfHeight = 0
+
+        fun finishPage() {
+            val texture = Texture(page ?: return).apply { atlasPage = true }
+            synchronized(Texture) {
+                Texture.all["atlas:page${pages++}"] = texture
+                placed.forEach { (key, bitmap, pos) ->
+                    // packing can run in the background, in which case a scene may have loaded the asset by itself
+                    if (key in Texture.all) bitmap.dispose()
+                    else Texture.all[key] = Texture(bitmap).apply { pack(texture, pos[0], pos[1]) }
+                }
+            }
+            created++
+            page = null
+            placed = ArrayList()
+        }
+
+        for ((key, bitmap) in bitmaps) {
+            if (x + bitmap.width > PAGE_SIZE) {
+                x = 0
+                y += shelfHeight + PADDING
+                shelfHeight = 0
+            }
+            if (page == null || y + bitmap.height > PAGE_SIZE) {
+                finishPage()
+                page = Pixmap(PAGE_SIZE, PAGE_SIZE, Pixmap.Format.RGBA8888).apply { blending = Pixmap.Blending.None }
+                x = 0
+                y = 0
+                shelfHeight = 0
+            }
+
+            page!!.drawPixmap(bitmap, x, y)
+            placed += Triple(key, bitmap, intArrayOf(x, y))
+
+            x += bitmap.width + PADDING
+            shelfHeight = maxOf(shelfHeight, bitmap.height)
+        }
+        finishPage()
+
+        return created
+    }
+}
@@ -54,8 +54,9 @@ class VertexDataset(private var vertexBuffer: FloatBuffer) {
             Gdx.gl.glBufferSubData(GL20.GL_ARRAY_BUFFER, updateStart * Float.SIZE_BYTES, (updateEnd - updateStart) * Float.SIZE_BYTES, vertexBuffer)
         release()
 
-        updateStart = 0
-        updateEnd = vertexBuffer.limit()
+        // empty range, so that the next partial update only uploads what it marks
+        updateStart = vertexBuffer.limit()
+        updateEnd = 0
         update = false
     }
 
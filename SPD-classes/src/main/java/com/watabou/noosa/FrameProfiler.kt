@@ -0,0 +1,171 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2022 Evan Debenham
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+package com.watabou.noosa
+
+import com.watabou.utils.writeText
+import java.io.IOException
+import java.util.Locale
+
+/**
+ * Lightweight per frame timing of the main loop, for finding where frame time goes.
+ *
+ * [Game] reports how long each [Phase] took, the scene's direct children report their own
+ * update and draw cost, and [Script] and [Texture][com.watabou.glwrap.Texture] count
+ * draw calls and texture binds. The most recent [FRAMES] frames are kept, so they can be
+ * [dumped][dump] to a file for offline analysis.
+ *
+ * Draw costs of children are approximate: quads are batched by [QuadBatch],
+ * so part of a child's drawing may be flushed while the next child draws.
+ */
+object FrameProfiler {
+
+    enum class Phase {
+        DRAW, SCENE_SWITCH, INPUT, PENDING_CHANGES, AUDIO, UPDATE, CAMERA, GLYPHS
+    }
+
+    private val PHASES = Phase.values()
+
+    const val FRAMES = 600
+
+    // phase timings, then total time, draw calls and texture binds
+    private val COLUMNS = PHASES.size + 3
+
+    @JvmField
+    var on = false
+
+    @JvmField
+    var drawCalls = 0
+
+    @JvmField
+    var textureBinds = 0
+
+    private val phaseNanos = LongArray(PHASES.size)
+    private var frameStart = 0L
+    private var phaseStart = 0L
+
+    private val history = LongArray(FRAMES * COLUMNS)
+    private var frames = 0
+
+    // moving averages over roughly the last 16 frames
+    private val averages = LongArray(COLUMNS)
+
+    // per class of scene child: update and draw time this frame, then their averages
+    private val children = HashMap<Class<*>, LongArray>()
+
+    @JvmStatic // TODO: remove this after moving use cases to kotlin
+    fun beginFrame() {
+        frameStart = System.nanoTime()
+        phaseStart = frameStart
+        phaseNanos.fill(0)
+        drawCalls = 0
+        textureBinds = 0
+    }
+
+    /**
+     * Attributes the time since the previous phase (or the start of the frame) to [phase].
+     */
+    @JvmStatic // TODO: remove this after moving use cases to kotlin
+    fun endPhase(phase: Phase) {
+        val now = System.nanoTime()
+        phaseNanos[phase.ordinal] += now - phaseStart
+        phaseStart = now
+    }
+
+    @JvmStatic // TODO: remove this after moving use cases to kotlin
+    fun endFrame() {
+        val row = (frames % FRAMES) * COLUMNS
+        for (i in PHASES.indices) history[row + i] = phaseNanos[i]
+        history[row + PHASES.size] = System.nanoTime() - frameStart
+        history[row + PHASES.size + 1] = drawCalls.toLong()
+        history[row + PHASES.size + 2] = textureBinds.toLong()
+        frames++
+
+        for (i in 0 until COLUMNS) averages[i] += (history[row + i] - averages[i]) / 16
+        for (cost in children.values) {
+            cost[2] += (cost[0] - cost[2]) / 16
+            cost[3] += (cost[1] - cost[3]) / 16
+            cost[0] = 0
+            cost[1] = 0
+        }
+    }
+
+    internal fun childUpdated(child: Gizmo, nanos: Long) {
+        children.getOrPut(child.javaClass) { LongArray(4) }[0] += nanos
+    }
+
+    internal fun childDrawn(child: Gizmo, nanos: Long) {
+        children.getOrPut(child.javaClass) { LongArray(4) }[1] += nanos
+    }
+
+    /**
+     * Averaged phase timings, counters and the most expensive scene children, one per line.
+     */
+    @JvmStatic // TODO: remove this after moving use cases to kotlin
+    fun summary(maxChildren: Int): String {
+        val builder = StringBuilder()
+        builder.append(String.format(Locale.ENGLISH, "frame %.2fms, %d draws, %d binds\n",
+            averages[PHASES.size] / 1e6, averages[PHASES.size + 1], averages[PHASES.size + 2]))
+        for (phase in PHASES) {
+            builder.append(String.format(Locale.ENGLISH, "%s %.2fms\n", phase.name.lowercase(Locale.ENGLISH), averages[phase.ordinal] / 1e6))
+        }
+        children.entries
+            .sortedByDescending { it.value[2] + it.value[3] }
+            .take(maxChildren)
+            .forEach {
+                builder.append(String.format(Locale.ENGLISH, "%s u%.2f d%.2fms\n",
+                    it.key.simpleName.ifEmpty { it.key.name.substringAfterLast('.') }, it.value[2] / 1e6, it.value[3] / 1e6))
+            }
+        return builder.toString().trimEnd()
+    }
+
+    /**
+     * Writes the recorded frames, oldest first, as CSV.
+     * @param path path of the file to write into
+     */
+    @JvmStatic // TODO: remove this after moving use cases to kotlin
+    @Throws(IOException::class)
+    fun dump(path: String) {
+        val builder = StringBuilder()
+        PHASES.forEach { builder.append(it.name.lowercase(Locale.ENGLISH)).append("_ns,") }
+        builder.append("total_ns,draw_calls,texture_binds\n")
+
+        val count = minOf(frames, FRAMES)
+        for (f in frames - count until frames) {
+            val row = (f % FRAMES) * COLUMNS
+            for (i in 0 until COLUMNS) {
+                if (i > 0) builder.append(',')
+                builder.append(history[row + i])
+            }
+            builder.append('\n')
+        }
+        writeText(path, builder.toString())
+    }
+
+    /**
+     * Clears everything recorded so far, e.g. when a new scene is started.
+     */
+    @JvmStatic // TODO: remove this after moving use cases to kotlin
+    fun reset() {
+        frames = 0
+        averages.fill(0)
+        children.clear()
+    }
+}
@@ -36,11 +36,15 @@ import com.watabou.input.PointerEvent;
 import com.watabou.noosa.audio.MusicPlayer;
 import com.watabou.noosa.audio.Sample;
 import com.watabou.noosa.graph.GizmoGraphKt;
+import com.watabou.noosa.graph.GizmoInspector;
 import com.watabou.utils.Callback;
 import com.watabou.utils.DeviceCompat;
+import com.watabou.utils.GameSettings;
 import com.watabou.utils.PlatformSupport;
 import com.watabou.utils.Reflection;
+import com.watabou.utils.StartupLog;
 
+import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 
@@ -106,6 +110,8 @@ public class Game implements ApplicationListener {
 			Controllers.addListener(new ControllerHandler());
 		}
 
+		renderThread = Thread.currentThread();
+
 		//refreshes texture and vertex data stored on the gpu
 		versionContextRef = Gdx.graphics.getGLVersion();
 		BlendingKt.useDefault();
@@ -114,6 +120,13 @@ public class Game implements ApplicationListener {
 	}
 
 	private GLVersion versionContextRef;
+
+	private static Thread renderThread;
+
+	//true when called from the thread which owns the scene graph, or before there is one
+	public static boolean onRenderThread(){
+		return renderThread == null || Thread.currentThread() == renderThread;
+	}
 	
 	@Override
 	public void resize(int width, int height) {
@@ -164,15 +177,41 @@ public class Game implements ApplicationListener {
 			if (DeviceCompat.isAndroid()) return;
 		}
 
+		boolean profile = FrameProfiler.on;
+		if (profile) FrameProfiler.beginFrame();
+		boolean drawingScene = scene != null;
+
 		Script.get().resetCamera();
 		Gdx.gl.glDisable(Gdx.gl.GL_SCISSOR_TEST);
 		Gdx.gl.glClear(Gdx.gl.GL_COLOR_BUFFER_BIT);
 		draw();
+		QuadBatch.flush();
 
 		Gdx.gl.glDisable( Gdx.gl.GL_SCISSOR_TEST );
+		if (profile) FrameProfiler.endPhase(FrameProfiler.Phase.DRAW);
 		
 		step();
+
+		platform.warmGlyphs( GLYPH_WARMUP_MS );
+
+		if (profile) {
+			FrameProfiler.endPhase(FrameProfiler.Phase.GLYPHS);
+			FrameProfiler.endFrame();
+		}
+
+		if (drawingScene && !StartupLog.getFinished()){
+			StartupLog.finish("first frame of " + scene.getClass().getSimpleName());
+		}
 	}
+
+	//time per frame spent generating font glyphs ahead of their first use
+	private static final long GLYPH_WARMUP_MS = 2;
+
+	//recent frame timings are written here when the game is paused, if frame profiling is on
+	public static final String FRAME_PROFILE_FILE = "frame_profile.csv";
+
+	//gizmo counts of the current scene are written here when the game is paused, if the gizmo inspector is on
+	public static final String GIZMO_SNAPSHOT_FILE = "gizmo_snapshot.csv";
 	
 	@Override
 	public void pause() {
@@ -181,6 +220,25 @@ public class Game implements ApplicationListener {
 		if (scene != null) {
 			scene.onPause();
 		}
+
+		//the app may be killed without warning while paused
+		GameSettings.flushNow();
+
+		if (FrameProfiler.on) {
+			try {
+				FrameProfiler.dump(FRAME_PROFILE_FILE);
+			} catch (IOException e) {
+				reportException(e);
+			}
+		}
+
+		if (GizmoInspector.getOn()) {
+			try {
+				GizmoInspector.dump(GIZMO_SNAPSHOT_FILE);
+			} catch (IOException e) {
+				reportException(e);
+			}
+		}
 		
 		Script.reset();
 	}
@@ -209,6 +267,7 @@ public class Game implements ApplicationListener {
 	@Override
 	public void dispose() {
 		destroy();
+		GameSettings.flushNow();
 	}
 	
 	public static void resetScene() {
@@ -239,6 +298,10 @@ public class Game implements ApplicationListener {
 				switchScene();
 			}
 
+			if (FrameProfiler.on) {
+				FrameProfiler.reset();
+				FrameProfiler.endPhase(FrameProfiler.Phase.SCENE_SWITCH);
+			}
 		}
 		
 		update();
@@ -257,6 +320,7 @@ public class Game implements ApplicationListener {
 		}
 		//clear any leftover vertex buffers
 		VertexDataset.clear();
+		QuadBatch.reset();
 		scene = requestedScene;
 		if (onChange != null) onChange.beforeCreate();
 		scene.create();
@@ -274,11 +338,23 @@ public class Game implements ApplicationListener {
 		
 		Game.realTime = TimeUtils.millis();
 
+		boolean profile = FrameProfiler.on;
+
 		inputHandler.processAllEvents();
+		if (profile) FrameProfiler.endPhase(FrameProfiler.Phase.INPUT);
+
+		//scene changes requested by the actor thread since the last frame
+		Group.applyPendingChanges();
+		if (profile) FrameProfiler.endPhase(FrameProfiler.Phase.PENDING_CHANGES);
 
 		Sample.INSTANCE.update();
+		if (profile) FrameProfiler.endPhase(FrameProfiler.Phase.AUDIO);
+
 		scene.update();
+		if (profile) FrameProfiler.endPhase(FrameProfiler.Phase.UPDATE);
+
 		Camera.updateAll();
+		if (profile) FrameProfiler.endPhase(FrameProfiler.Phase.CAMERA);
 
 		if (GizmoGraphKt.getOn()) GizmoGraphKt.updateGraph(scene);
 	}
@@ -20,6 +20,8 @@
  */
 package com.watabou.noosa
 
+import com.watabou.noosa.graph.GizmoInspector
+
 /**
  * Base building block of the game UI.
  */
@@ -30,6 +32,34 @@ open class Gizmo {
      */
     var alive = true
         get() = parent?.let { field && it.alive } ?: field
+        set(value) {
+            val died = field && !value
+            val revived = !field && value
+            field = value
+            if (died) parent?.onChildDied(this)
+            if (revived && GizmoInspector.on) GizmoInspector.revived(this)
+        }
+
+    /**
+     * Position of this gizmo in its [parent]'s children, which makes removal from it constant time.
+     */
+    internal var groupIndex = -1
+
+    /**
+     * Group whose [members][Group.members] list actually holds this gizmo. Off the render thread, [parent] is
+     * changed right away while the list itself only catches up on the next frame, so the two can briefly differ.
+     */
+    internal var listedIn: Group? = null
+
+    /**
+     * Group whose free list this gizmo is waiting in, if any.
+     */
+    internal var freeListOwner: Group? = null
+
+    /**
+     * Whether [GizmoInspector] currently counts this gizmo as dead.
+     */
+    internal var countedDead = false
 
     /**
      * Active gizmos are [updated][update] every frame.
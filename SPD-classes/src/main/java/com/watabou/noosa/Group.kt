@@ -20,82 +20,164 @@
  */
 package com.watabou.noosa
 
+import com.watabou.noosa.graph.GizmoInspector
 import com.watabou.utils.Reflection
+import java.util.concurrent.ConcurrentLinkedQueue
 
 /**
  * Gizmo-container for other gizmos.
+ *
+ * Removed children leave a tombstone behind, which is compacted away once they make up half of the list,
+ * and dead children are kept in per-class free lists. This keeps removal and [recycling][recycle] constant time
+ * for groups that churn through hundreds of short-lived effects.
+ *
+ * The gizmo tree belongs to the render thread. When other threads, such as the actor thread spawning effects,
+ * add or remove children, [parent] is changed right away so the tree reads consistently from that thread,
+ * but the change to the list which is updated and drawn is queued and [applied][applyPendingChanges]
+ * at the start of the next frame. This way updating and drawing don't need to lock every group.
  */
 open class Group : Gizmo() {
 
+    /**
+     * Children in update and draw order, with null tombstones where children were removed.
+     */
+    internal val members: ArrayList<Gizmo?> = ArrayList()
+    private var tombstones = 0
+
+    /**
+     * Compaction is deferred while [members] are being iterated, as it would shift their indices.
+     */
+    private var iterating = 0
+
+    private val freeLists = HashMap<Class<*>, ArrayList<Gizmo>>()
+
+    /**
+     * Bumped by [clear], so that additions queued before it don't outlive it.
+     */
+    @Volatile
+    private var clears = 0
+
     /**
      * Gizmos whose [parent] is this group.
      */
-    protected var children: ArrayList<Gizmo> = ArrayList()
+    protected val children: List<Gizmo>
+        @Suppress("UNCHECKED_CAST")
+        get() = if (iterating == 0 && Game.onRenderThread()) {
+            compact()
+            members as List<Gizmo>
+        } else snapshot()
 
     /**
      * Updates this group and all of its children.
      */
-    @Synchronized
     override fun update() {
-        for (i in 0 until children.size) {
-            if (i >= children.size) break
-            val child = children[i]
-            if (child.alive && child.active) {
-                child.update()
+        // only the scene itself breaks its cost down, by direct child
+        val profile = FrameProfiler.on && parent == null
+        iterating++
+        try {
+            for (i in 0 until members.size) {
+                if (i >= members.size) break
+                val child = members[i] ?: continue
+                if (child.alive && child.active) {
+                    if (profile) {
+                        val start = System.nanoTime()
+                        child.update()
+                        FrameProfiler.childUpdated(child, System.nanoTime() - start)
+                    } else {
+                        child.update()
+                    }
+                }
             }
+        } finally {
+            iterating--
         }
+        compactIfSparse()
     }
 
     /**
      * Draws this group and all of its children.
      */
-    @Synchronized
     override fun draw() {
-        for (i in 0 until children.size) {
-            if (i >= children.size) break
-            val child = children[i]
-            if (child.alive && child.visible) {
-                child.draw()
+        val profile = FrameProfiler.on && parent == null
+        iterating++
+        try {
+            for (i in 0 until members.size) {
+                if (i >= members.size) break
+                val child = members[i] ?: continue
+                if (child.alive && child.visible) {
+                    if (profile) {
+                        val start = System.nanoTime()
+                        child.draw()
+                        FrameProfiler.childDrawn(child, System.nanoTime() - start)
+                    } else {
+                        child.draw()
+                    }
+                }
             }
+        } finally {
+            iterating--
         }
     }
 
     /**
      * Kills this group and all of its children.
      */
-    @Synchronized
     override fun kill() {
-        for (i in 0 until children.size) {
-            if (i >= children.size) break
-            val child = children[i]
-            if (child.alive) {
-                child.kill()
+        // children count as dead as soon as their group is, so only killing them one by one is deferred
+        if (!deferred { killChildren() }) killChildren()
+        super.kill()
+    }
+
+    private fun killChildren() {
+        iterating++
+        try {
+            for (i in 0 until members.size) {
+                if (i >= members.size) break
+                val child = members[i] ?: continue
+                if (child.alive) {
+                    child.kill()
+                }
             }
+        } finally {
+            iterating--
         }
-        super.kill()
     }
 
     /**
      * Destroy this group and all of its children.
      */
-    @Synchronized
     override fun destroy() {
-        while (children.size > 0) {
-            children[0].destroy()
+        if (deferred { destroy() }) return
+        iterating++
+        try {
+            // children remove themselves when destroyed, leaving tombstones behind
+            for (i in 0 until members.size) {
+                if (i >= members.size) break
+                members[i]?.destroy()
+            }
+        } finally {
+            iterating--
         }
-        children.clear()
+        clear()
         super.destroy()
     }
 
     /**
      * Adds a gizmo to the [children] unless it's already there. New children are added to the front.
      */
-    @Synchronized
     fun add(g: Gizmo) {
         if (g.parent === this) return
         g.parent?.remove(g)
-        children.add(g)
         g.parent = this
+        val clearsAtAdd = clears
+        val queued = deferred {
+            if (clears == clearsAtAdd) {
+                attach(g)
+            } else if (g.parent === this) {
+                g.parent = null
+            }
+        }
+        if (!queued) attach(g)
     }
 
     /**
@@ -103,12 +185,9 @@ open class Group : Gizmo() {
      *
      * Gizmos are updated and drawn from back to front.
      */
-    @Synchronized
     fun addToFront(g: Gizmo) {
         if (g.parent === this) return bringToFront(g)
-        g.parent?.remove(g)
-        children.add(g)
-        g.parent = this
+        add(g)
     }
 
     /**
@@ -116,12 +195,16 @@ open class Group : Gizmo() {
      *
      * Gizmos are updated and drawn from back to front.
      */
-    @Synchronized
     fun bringToFront(g: Gizmo) {
-        g.takeIf(children::contains)?.also {
-            children.remove(it)
-            children.add(it)
+        if (deferred { bringToFront(g) }) return
+        if (g.parent !== this || g.listedIn !== this || g.groupIndex == members.size - 1) return
+        synchronized(members) {
+            members[g.groupIndex] = null
+            tombstones++
+            g.groupIndex = members.size
+            members.add(g)
         }
+        compactIfSparse()
     }
 
     /**
@@ -129,12 +212,10 @@ open class Group : Gizmo() {
      *
      * Gizmos are updated and drawn from back to front.
      */
-    @Synchronized
     fun addToBack(g: Gizmo) {
         if (g.parent === this) return sendToBack(g)
-        g.parent?.remove(g)
-        children.add(0, g)
-        g.parent = this
+        add(g)
+        sendToBack(g)
     }
 
     /**
@@ -142,11 +223,14 @@ open class Group : Gizmo() {
      *
      * Gizmos are updated and drawn from back to front.
      */
-    @Synchronized
     fun sendToBack(g: Gizmo) {
-        g.takeIf(children::contains)?.also {
-            children.remove(it)
-            children.add(0, it)
+        if (deferred { sendToBack(g) }) return
+        if (g.parent !== this || g.listedIn !== this || g.groupIndex == 0) return
+        // the only operation that still shifts children, it's rare enough to not need a cheaper structure
+        synchronized(members) {
+            members.removeAt(g.groupIndex)
+            members.add(0, g)
+            reindex(0)
         }
     }
 
@@ -156,35 +240,157 @@ open class Group : Gizmo() {
      * @param c class of which an instance is to be obtained
      * @return obtained gizmo
      */
-    @Synchronized
     fun <T : Gizmo> recycle(c: Class<T>): T = firstAvailableOrNull(c) ?: Reflection.newInstance(c).also { add(it) }
 
     /**
-     * Finds a [dead][alive] gizmo of specified class among [children].
+     * Finds a [dead][alive] gizmo of exactly the specified class among [children].
      *
      * @param c class of which an instance is to be found
      * @return found gizmo or null if none are found
      */
-    @Synchronized
-    fun <T : Gizmo> firstAvailableOrNull(c: Class<T>): T? = children.filterIsInstance(c).firstOrNull { !it.alive }
+    fun <T : Gizmo> firstAvailableOrNull(c: Class<T>): T? {
+        synchronized(freeLists) {
+            val freeList = freeLists[c] ?: return null
+            while (freeList.isNotEmpty()) {
+                val g = freeList.removeAt(freeList.size - 1)
+                // entries go stale when their gizmo is revived or moved to another group
+                if (g.freeListOwner !== this) continue
+                g.freeListOwner = null
+                if (g.parent === this && !g.alive) return c.cast(g)
+            }
+            return null
+        }
+    }
 
     /**
      * Detaches a [child][children] from this group.
      *
+     * Off the render thread, the child is detached from this group's [children] right away,
+     * but is still updated and drawn until the next frame.
+     *
      * @param g child to detach
      * @return detached child
      */
-    @Synchronized
-    open fun <T : Gizmo> remove(g: T): T? = g.takeIf(children::remove)?.apply { parent = null }
+    open fun <T : Gizmo> remove(g: T): T? {
+        if (g.parent !== this) return null
+        g.parent = null
+        if (!deferred { detach(g) }) detach(g)
+        return g
+    }
 
     /**
      * Detaches all [children] from this group.
      */
-    @Synchronized
     open fun clear() {
-        children.apply {
-            forEach { it.parent = null }
-            clear()
+        if (!Game.onRenderThread()) {
+            snapshot().forEach { if (it.parent === this) it.parent = null }
+            pendingChanges.add(Runnable { clear() })
+            return
+        }
+        clears++
+        if (GizmoInspector.on && GizmoInspector.inScene(this)) members.forEach { it?.let(GizmoInspector::left) }
+        synchronized(members) {
+            members.forEach {
+                if (it?.parent === this) it.parent = null
+                it?.listedIn = null
+                it?.groupIndex = -1
+            }
+            members.clear()
+            tombstones = 0
+        }
+        synchronized(freeLists) { freeLists.clear() }
+    }
+
+    /**
+     * Lists a child which has just died for [recycling][recycle].
+     */
+    internal fun onChildDied(g: Gizmo) {
+        if (GizmoInspector.on && GizmoInspector.inScene(this)) GizmoInspector.died(g)
+        synchronized(freeLists) {
+            if (g.freeListOwner === this) return
+            g.freeListOwner = this
+            freeLists.getOrPut(g.javaClass) { ArrayList() }.add(g)
+        }
+    }
+
+    /**
+     * Queues a structural change if it was requested off the render thread.
+     *
+     * @return whether the change was queued instead of being applied right away
+     */
+    private inline fun deferred(crossinline change: () -> Unit): Boolean {
+        if (Game.onRenderThread()) return false
+        pendingChanges.add(Runnable { change() })
+        return true
+    }
+
+    /**
+     * Copies [members] without tombstones. Used off the render thread, which may be changing them.
+     */
+    private fun snapshot(): List<Gizmo> = synchronized(members) { members.filterNotNull() }
+
+    /**
+     * Puts a child into [members], unless a later change has moved it elsewhere already.
+     */
+    private fun attach(g: Gizmo) {
+        if (g.parent !== this || g.listedIn === this) return
+        // it may still be listed in its previous group if that removal is queued
+        g.listedIn?.detach(g)
+        synchronized(members) {
+            g.groupIndex = members.size
+            members.add(g)
+            g.listedIn = this
+        }
+        if (GizmoInspector.on && GizmoInspector.inScene(this)) GizmoInspector.entered(g)
+        if (!g.alive) onChildDied(g)
+    }
+
+    /**
+     * Takes a child out of [members], unless it has been added back since.
+     */
+    private fun detach(g: Gizmo) {
+        if (g.parent === this || g.listedIn !== this) return
+        if (GizmoInspector.on && GizmoInspector.inScene(this)) GizmoInspector.left(g)
+        synchronized(members) {
+            members[g.groupIndex] = null
+            tombstones++
+            g.groupIndex = -1
+            g.listedIn = null
+        }
+        compactIfSparse()
+    }
+
+    private fun compactIfSparse() {
+        if (tombstones > 16 && tombstones * 2 > members.size) compact()
+    }
+
+    private fun compact() {
+        if (tombstones == 0 || iterating > 0) return
+        synchronized(members) {
+            members.removeAll { it == null }
+            tombstones = 0
+            reindex(0)
+        }
+    }
+
+    private fun reindex(from: Int) {
+        for (i in from until members.size) {
+            members[i]?.groupIndex = i
+        }
+    }
+
+    companion object {
+
+        private val pendingChanges = ConcurrentLinkedQueue<Runnable>()
+
+        /**
+         * Applies the structural changes which other threads requested since the last frame, in request order.
+         */
+        @JvmStatic // TODO: remove this after moving use cases to kotlin
+        fun applyPendingChanges() {
+            while (true) {
+                (pendingChanges.poll() ?: return).run()
+            }
         }
     }
-}
\ No newline at end of file
+}
@@ -42,6 +42,10 @@ public class Image extends Visual {
 	protected VertexDataset vertexDataset;
 	
 	protected boolean dirty;
+
+	//batchable images are drawn through QuadBatch, merging with neighbouring draws which share texture,
+	// camera and color. Images which need their own uniforms or GL state should opt out.
+	public boolean batchable = true;
 	
 	public Image() {
 		super( 0, 0, 0, 0 );
@@ -147,6 +151,19 @@ public class Image extends Visual {
 		dirty = true;
 	}
 	
+	private static final float[] remapped = new float[16];
+
+	//writes vertices into the vertex buffer, with uvs remapped if the texture is packed into an atlas
+	protected void putVertices() {
+		((Buffer) vertexBuffer).position( 0 );
+		if (texture.getPacked()) {
+			texture.remapUV( vertices, remapped );
+			vertexBuffer.put( remapped );
+		} else {
+			vertexBuffer.put( vertices );
+		}
+	}
+	
 	@Override
 	public void draw() {
 
@@ -155,9 +172,16 @@ public class Image extends Visual {
 		
 		super.draw();
 
+		if (batchable && QuadBatch.enabled) {
+			//vertices stay dirty until the image is drawn on its own, as the GPU copy isn't used here
+			QuadBatch.add( texture, getCamera(), matrix, vertices,
+				rm, gm, bm, am,
+				ra, ga, ba, aa );
+			return;
+		}
+
 		if (dirty) {
-			((Buffer) vertexBuffer).position( 0 );
-			vertexBuffer.put( vertices );
+			putVertices();
 			if (vertexDataset == null)
 				vertexDataset = new VertexDataset(vertexBuffer);
 			else
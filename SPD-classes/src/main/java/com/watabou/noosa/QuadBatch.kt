@@ -0,0 +1,146 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2022 Evan Debenham
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+package com.watabou.noosa
+
+import com.watabou.glwrap.Matrix
+import com.watabou.glwrap.Texture
+import com.watabou.glwrap.VertexDataset
+import com.watabou.glwrap.createSet
+import java.nio.Buffer
+
+/**
+ * Accumulates quads which share a texture, camera and lighting into a single draw call.
+ *
+ * Quads are transformed on the CPU, so a batch is drawn with an identity model matrix.
+ * Any other draw starts with [Script.get], which [flushes][flush] the pending batch first,
+ * and so does every blending mode change. This keeps the back to front draw order intact.
+ */
+object QuadBatch {
+
+    private const val MAX_QUADS = 1024
+
+    // flushes cycle through several GL buffers, so an upload rarely waits on a draw still using its buffer.
+    // Older mobile drivers stall on glBufferSubData into a buffer the GPU hasn't finished with
+    private const val BUFFERS = 4
+
+    /**
+     * Turns batching off for every visual, which is useful when debugging draw order.
+     */
+    @JvmField
+    var enabled = true
+
+    private val vertices = FloatArray(MAX_QUADS * 16)
+    private val vertexBuffer = createSet(MAX_QUADS)
+    private val vertexDatasets = arrayOfNulls<VertexDataset>(BUFFERS)
+    private var nextDataset = 0
+    private var count = 0
+
+    private var texture: Texture? = null
+    private var camera: Camera? = null
+    private val lighting = FloatArray(8)
+    private val identity = Matrix()
+
+    /**
+     * Queues a quad, flushing the current batch first if it can't be merged into it.
+     *
+     * @param quad 16 floats in the same x, y, u, v layout as [Image.vertices], in local coordinates
+     */
+    @JvmStatic
+    fun add(
+        texture: Texture, camera: Camera?, matrix: Matrix, quad: FloatArray,
+        rm: Float, gm: Float, bm: Float, am: Float, ra: Float, ga: Float, ba: Float, aa: Float
+    ) {
+        // textures packed into the same atlas page can share a batch
+        val glTexture = texture.page ?: texture
+        if (count > 0 && (count == MAX_QUADS || glTexture !== this.texture || camera !== this.camera
+                    || !sameLighting(rm, gm, bm, am, ra, ga, ba, aa))
+        ) flush()
+
+        if (count == 0) {
+            this.texture = glTexture
+            this.camera = camera
+            lighting[0] = rm; lighting[1] = gm; lighting[2] = bm; lighting[3] = am
+            lighting[4] = ra; lighting[5] = ga; lighting[6] = ba; lighting[7] = aa
+        }
+
+        texture.remapUV(quad, vertices, count * 16)
+
+        val m = matrix.values
+        var o = count * 16
+        for (v in 0 until 16 step 4) {
+            val x = quad[v]
+            val y = quad[v + 1]
+            vertices[o] = m[0] * x + m[4] * y + m[12]
+            vertices[o + 1] = m[1] * x + m[5] * y + m[13]
+            o += 4
+        }
+        count++
+    }
+
+    /**
+     * Draws all pending quads.
+     */
+    @JvmStatic
+    fun flush() {
+        if (count == 0) return
+        val size = count
+        // reset first, Script.get() flushes as well
+        count = 0
+
+        (vertexBuffer as Buffer).position(0)
+        vertexBuffer.put(vertices, 0, size * 16)
+        (vertexBuffer as Buffer).position(0)
+
+        val dataset = vertexDatasets[nextDataset]?.also { it.markForUpdate(vertexBuffer, 0, size * 16) }
+            ?: VertexDataset(vertexBuffer).also { vertexDatasets[nextDataset] = it }
+        nextDataset = (nextDataset + 1) % BUFFERS
+
+        val script = Script.get()
+        texture!!.bind()
+        script.setCamera(camera)
+        script.uModel.set(identity)
+        script.lighting(
+            lighting[0], lighting[1], lighting[2], lighting[3],
+            lighting[4], lighting[5], lighting[6], lighting[7]
+        )
+        script.drawQuadSet(dataset, size, 0)
+
+        texture = null
+        camera = null
+    }
+
+    /**
+     * Drops the batch's vertex data, for when all [VertexDataset]s have been cleared.
+     */
+    @JvmStatic
+    fun reset() {
+        count = 0
+        texture = null
+        camera = null
+        vertexDatasets.fill(null)
+        nextDataset = 0
+    }
+
+    private fun sameLighting(
+        rm: Float, gm: Float, bm: Float, am: Float, ra: Float, ga: Float, ba: Float, aa: Float
+    ) = lighting[0] == rm && lighting[1] == gm && lighting[2] == bm && lighting[3] == am &&
+            lighting[4] == ra && lighting[5] == ga && lighting[6] == ba && lighting[7] == aa
+}
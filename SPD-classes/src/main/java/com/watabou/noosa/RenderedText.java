@@ -31,10 +31,12 @@ import com.badlogic.gdx.graphics.glutils.ShaderProgram;
 import com.badlogic.gdx.math.Affine2;
 import com.badlogic.gdx.math.Matrix4;
 import com.watabou.glwrap.QuadKt;
+import com.watabou.glwrap.VertexDataset;
+import com.watabou.utils.PlatformSupport;
 
 import java.nio.Buffer;
 import java.nio.FloatBuffer;
-import java.util.HashMap;
+import java.util.ArrayList;
 
 import static java.lang.Math.round;
 
@@ -75,7 +77,11 @@ public class RenderedText extends Image {
 		measure();
 	}
 	
+	private static final GlyphLayout measureLayout = new GlyphLayout();
+
 	private synchronized void measure(){
+
+		clearGlyphs();
 		
 		if (Thread.currentThread().getName().equals("SHPD Actor Thread")){
 			throw new RuntimeException("Text measured from the actor thread!");
@@ -91,9 +97,12 @@ public class RenderedText extends Image {
 		}
 		
 		font = Game.platform.getFont(size, text, true, true);
+		glyphsGeneration = PlatformSupport.fontGeneration;
 		
 		if (font != null){
-			GlyphLayout glyphs = new GlyphLayout( font, text);
+			//measuring only happens on the render thread, so one layout can be shared
+			GlyphLayout glyphs = measureLayout;
+			glyphs.setText( font, text );
 			
 			for (char c : text.toCharArray()) {
 				BitmapFont.Glyph g = font.getData().getGlyph(c);
@@ -133,39 +142,78 @@ public class RenderedText extends Image {
 	}
 	
 	private static TextRenderBatch textRenderer = new TextRenderBatch();
+
+	//glyph geometry, built once per text, size and font generation and reused until then
+	private ArrayList<GlyphPage> glyphs;
+	private int glyphsGeneration;
+
+	private static class GlyphPage {
+		Texture texture;
+		VertexDataset vertices;
+		int quads;
+	}
 	
 	@Override
 	public synchronized void draw() {
 		if (font != null) {
 			updateMatrix();
-			TextRenderBatch.textBeingRendered = this;
-			font.draw(textRenderer, text, 0, 0);
+
+			if (glyphsGeneration != PlatformSupport.fontGeneration) {
+				//the old font was disposed, so get the regenerated one
+				measure();
+				if (font == null) return;
+			}
+
+			if (glyphs == null) {
+				glyphs = new ArrayList<>();
+				TextRenderBatch.textBeingRendered = this;
+				font.draw(textRenderer, text, 0, 0);
+				TextRenderBatch.textBeingRendered = null;
+			}
+
+			Script script = Script.get();
+
+			script.setCamera( getCamera() );
+
+			script.getUModel().set( matrix );
+			script.lighting(
+					rm, gm, bm, am,
+					ra, ga, ba, aa );
+
+			for (GlyphPage page : glyphs) {
+				page.texture.bind();
+				com.watabou.glwrap.Texture.Companion.reset();
+				script.drawQuadSet( page.vertices, page.quads, 0 );
+			}
+		}
+	}
+
+	private void clearGlyphs(){
+		if (glyphs != null) {
+			for (GlyphPage page : glyphs) {
+				page.vertices.delete();
+			}
+			glyphs = null;
 		}
 	}
 
-	//implements regular PD rendering within a libGDX batch so that our rendering logic
-	//can interface with the freetype font generator
+	@Override
+	public void destroy() {
+		super.destroy();
+		clearGlyphs();
+	}
+
+	//captures glyph geometry from a libGDX font in regular PD vertex format, so that our rendering logic
+	//can interface with the freetype font generator. The result is cached by the text being rendered.
 	//some copypasta from BitmapText here
 	private static class TextRenderBatch implements Batch {
 		
-		//this isn't as good as only updating once, like with BitmapText
-		// but it skips almost all allocations, which is almost as good
 		private static RenderedText textBeingRendered = null;
 		private static float[] vertices = new float[16];
-		private static HashMap<Integer, FloatBuffer> buffers = new HashMap<>();
 
 		@Override
 		public void draw(Texture texture, float[] spriteVertices, int offset, int count) {
-			Visual v = textBeingRendered;
-			
-			FloatBuffer toOpenGL;
-			if (buffers.containsKey(count/20)){
-				toOpenGL = buffers.get(count/20);
-				((Buffer)toOpenGL).position(0);
-			} else {
-				toOpenGL = QuadKt.createSet(count / 20);
-				buffers.put(count/20, toOpenGL);
-			}
+			FloatBuffer toOpenGL = QuadKt.createSet(count / 20);
 			
 			for (int i = 0; i < count; i += 20){
 				
@@ -198,20 +246,12 @@ public class RenderedText extends Image {
 			}
 
 			((Buffer)toOpenGL).position(0);
-			
-			Script script = Script.get();
-			
-			texture.bind();
-			com.watabou.glwrap.Texture.Companion.reset();
-			
-			script.setCamera( v.getCamera() );
-			
-			script.getUModel().set( v.matrix );
-			script.lighting(
-					v.rm, v.gm, v.bm, v.am,
-					v.ra, v.ga, v.ba, v.aa );
-			
-			script.drawQuadSet( toOpenGL, count/20 );
+
+			GlyphPage page = new GlyphPage();
+			page.texture = texture;
+			page.vertices = new VertexDataset(toOpenGL);
+			page.quads = count/20;
+			textBeingRendered.glyphs.add(page);
 		}
 		
 		//none of these functions are needed, so they are stubbed
@@ -63,6 +63,7 @@ open class Script {
         aUV.describeData(2, 4, vertexBuffer)
 
         releaseIndices()
+        FrameProfiler.drawCalls++
         Gdx.gl20.glDrawElements(
             GL20.GL_TRIANGLES,
             size,
@@ -79,6 +80,7 @@ open class Script {
         aUV.describeData(2, 4, 2)
         vertexDataset.release()
 
+        FrameProfiler.drawCalls++
         Gdx.gl20.glDrawElements(
             GL20.GL_TRIANGLES,
             VALUES_SIZE,
@@ -96,6 +98,7 @@ open class Script {
         vertexBuffer.position(2)
         aUV.describeData(2, 4, vertexBuffer)
 
+        FrameProfiler.drawCalls++
         Gdx.gl20.glDrawElements(
             GL20.GL_TRIANGLES,
             VALUES_SIZE * size,
@@ -113,6 +116,7 @@ open class Script {
         aUV.describeData(2, 4, 2)
         vertexDataset.release()
 
+        FrameProfiler.drawCalls++
         Gdx.gl20.glDrawElements(
             GL20.GL_TRIANGLES,
             VALUES_SIZE * length,
@@ -194,6 +198,7 @@ open class Script {
 
         @JvmStatic // TODO: remove this after moving use cases to kotlin
         fun get(): Script {
+            QuadBatch.flush()
             return instance ?: Script().also {
                 it.use()
                 instance = it
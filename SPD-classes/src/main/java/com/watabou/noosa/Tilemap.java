@@ -33,6 +33,10 @@ import java.util.Arrays;
 
 public class Tilemap extends Visual {
 
+	//tiles are grouped into square chunks, each occupying a contiguous range of the vertex buffer.
+	// Only chunks visible to the camera and containing at least one rendered tile are drawn.
+	public static final int CHUNK_SIZE = 16;
+
 	protected Texture texture;
 	protected TextureFilm tileset;
 
@@ -48,6 +52,11 @@ public class Tilemap extends Visual {
 	protected FloatBuffer quads;
 	protected VertexDataset buffer;
 
+	private int chunksWide;
+	private int chunksHigh;
+	//number of rendered tiles in each chunk
+	private int[] chunkTiles;
+
 	private volatile Rect updated;
 	private boolean fullUpdate;
 	private Rect updating;
@@ -81,6 +90,10 @@ public class Tilemap extends Visual {
 		width = cellW * mapWidth;
 		height = cellH * mapHeight;
 
+		chunksWide = (mapWidth + CHUNK_SIZE - 1) / CHUNK_SIZE;
+		chunksHigh = (mapHeight + CHUNK_SIZE - 1) / CHUNK_SIZE;
+		chunkTiles = new int[chunksWide * chunksHigh];
+
 		quads = QuadKt.createSet( size );
 
 		updateMap();
@@ -111,12 +124,33 @@ public class Tilemap extends Visual {
 		updated.setEmpty();
 	}
 
+	//index of the first quad of the chunk at (cx, cy).
+	// Chunks in a band of rows are laid out left to right, so horizontal runs of chunks are contiguous
+	private int chunkStart( int cx, int cy ){
+		int bandTop = cy * CHUNK_SIZE;
+		int bandHeight = Math.min( CHUNK_SIZE, mapHeight - bandTop );
+		return bandTop * mapWidth + cx * CHUNK_SIZE * bandHeight;
+	}
+
+	private int chunkLength( int cx, int cy ){
+		return Math.min( CHUNK_SIZE, mapWidth - cx * CHUNK_SIZE )
+				* Math.min( CHUNK_SIZE, mapHeight - cy * CHUNK_SIZE );
+	}
+
+	//index of the quad for the tile at (x, y)
+	private int quadIndex( int x, int y ){
+		int cx = x / CHUNK_SIZE;
+		int cy = y / CHUNK_SIZE;
+		int chunkW = Math.min( CHUNK_SIZE, mapWidth - cx * CHUNK_SIZE );
+		return chunkStart( cx, cy ) + (y - cy * CHUNK_SIZE) * chunkW + (x - cx * CHUNK_SIZE);
+	}
+
 	protected void updateVertices() {
 
 		moveToUpdating();
 		
 		float x1, y1, x2, y2;
-		int pos;
+		int pos, quad;
 		RectF uv;
 
 		y1 = cellH * updating.top;
@@ -131,12 +165,15 @@ public class Tilemap extends Visual {
 
 			for (int j=updating.left; j < updating.right; j++) {
 
-				if (topLeftUpdating == -1)
-					topLeftUpdating = pos;
+				quad = quadIndex( j, i );
 
-				bottomRightUpdating = pos + 1;
+				if (topLeftUpdating == -1 || quad < topLeftUpdating)
+					topLeftUpdating = quad;
 
-				((Buffer)quads).position(pos*16);
+				if (quad + 1 > bottomRightUpdating)
+					bottomRightUpdating = quad + 1;
+
+				((Buffer)quads).position(quad*16);
 				
 				uv = tileset.get(data[pos]);
 				
@@ -169,9 +206,8 @@ public class Tilemap extends Visual {
 				} else {
 
 					//If we don't need to draw this tile simply set the quad to size 0 at 0, 0.
-					// This does result in the quad being drawn, but we are skipping all
-					// pixel-filling. This is better than fully skipping rendering as we
-					// don't need to manage a buffer of drawable tiles with insertions/deletions.
+					// This does result in the quad being drawn if the rest of its chunk is,
+					// but chunks with no tiles to draw are skipped entirely.
 					Arrays.fill(vertices, 0);
 				}
 
@@ -187,10 +223,31 @@ public class Tilemap extends Visual {
 			y2 += cellH;
 		}
 
+		countChunkTiles();
 	}
 
-	//private int camX, camY, camW, camH;
-	//private int topLeft, bottomRight, length;
+	//recounts rendered tiles for every chunk touched by the current update
+	private void countChunkTiles(){
+		int cLeft = updating.left / CHUNK_SIZE;
+		int cTop = updating.top / CHUNK_SIZE;
+		int cRight = (updating.right - 1) / CHUNK_SIZE;
+		int cBottom = (updating.bottom - 1) / CHUNK_SIZE;
+
+		for (int cy = cTop; cy <= cBottom; cy++){
+			for (int cx = cLeft; cx <= cRight; cx++){
+				int count = 0;
+				int bottom = Math.min( (cy+1) * CHUNK_SIZE, mapHeight );
+				int right = Math.min( (cx+1) * CHUNK_SIZE, mapWidth );
+				for (int y = cy * CHUNK_SIZE; y < bottom; y++){
+					for (int x = cx * CHUNK_SIZE; x < right; x++){
+						int pos = x + y * mapWidth;
+						if (needsRender(pos) && tileset.get(data[pos]) != null) count++;
+					}
+				}
+				chunkTiles[cx + cy * chunksWide] = count;
+			}
+		}
+	}
 
 	@Override
 	public void draw() {
@@ -212,6 +269,7 @@ public class Tilemap extends Visual {
 				}
 			}
 			topLeftUpdating = -1;
+			bottomRightUpdating = 0;
 			updating.setEmpty();
 		}
 
@@ -224,9 +282,46 @@ public class Tilemap extends Visual {
 				rm, gm, bm, am,
 				ra, ga, ba, aa );
 
-		script.setCamera(getCamera());
+		Camera c = getCamera();
+		script.setCamera(c);
+		if (c == null) c = Camera.main;
+
+		int cLeft = 0, cTop = 0, cRight = chunksWide-1, cBottom = chunksHigh-1;
+
+		//cull chunks outside of the camera, with a tile of margin for camera shake.
+		// Rotated tilemaps aren't culled as their bounds aren't axis-aligned.
+		if (c != null && angle == 0 && scale.x > 0 && scale.y > 0) {
+			float tileW = cellW * scale.x;
+			float tileH = cellH * scale.y;
+			int left    = (int)Math.floor((c.scroll.x - x) / tileW) - 1;
+			int top     = (int)Math.floor((c.scroll.y - y) / tileH) - 1;
+			int right   = (int)Math.floor((c.scroll.x + c.width - x) / tileW) + 1;
+			int bottom  = (int)Math.floor((c.scroll.y + c.height - y) / tileH) + 1;
+
+			if (right < 0 || bottom < 0 || left >= mapWidth || top >= mapHeight){
+				return;
+			}
 
-		script.drawQuadSet( buffer, size, 0 );
+			cLeft   = Math.max( 0, left / CHUNK_SIZE );
+			cTop    = Math.max( 0, top / CHUNK_SIZE );
+			cRight  = Math.min( chunksWide-1, right / CHUNK_SIZE );
+			cBottom = Math.min( chunksHigh-1, bottom / CHUNK_SIZE );
+		}
+
+		//adjacent non-empty chunks in the same band are contiguous, so each run is a single draw
+		for (int cy = cTop; cy <= cBottom; cy++){
+			int runStart = -1;
+			for (int cx = cLeft; cx <= cRight + 1; cx++){
+				if (cx <= cRight && chunkTiles[cx + cy*chunksWide] > 0){
+					if (runStart == -1) runStart = cx;
+				} else if (runStart != -1){
+					int offset = chunkStart( runStart, cy );
+					int end = chunkStart( cx-1, cy ) + chunkLength( cx-1, cy );
+					script.drawQuadSet( buffer, end - offset, offset );
+					runStart = -1;
+				}
+			}
+		}
 
 	}
 
@@ -0,0 +1,84 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2022 Evan Debenham
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package com.watabou.noosa.audio;
+
+import com.watabou.noosa.Game;
+
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+//a single background thread which does all audio decoding and preparation, so that loads never
+//block the render thread and never compete with each other for the CPU.
+//Work that something is waiting on right now jumps ahead of bulk preloading.
+class AudioWorker {
+
+	static final int URGENT     = 0; //a sound was played that isn't loaded, or a track just ended
+	static final int NORMAL     = 1; //music for an upcoming level
+	static final int BACKGROUND = 2; //bulk preloading of sound effects
+
+	private static class Task implements Comparable<Task> {
+		final int priority;
+		final long order;
+		final Runnable work;
+
+		Task( int priority, long order, Runnable work ){
+			this.priority = priority;
+			this.order = order;
+			this.work = work;
+		}
+
+		@Override
+		public int compareTo( Task other ) {
+			if (priority != other.priority) return priority < other.priority ? -1 : 1;
+			return order < other.order ? -1 : (order == other.order ? 0 : 1);
+		}
+	}
+
+	private static final PriorityBlockingQueue<Task> queue = new PriorityBlockingQueue<>();
+	private static final AtomicLong submitted = new AtomicLong();
+
+	private static Thread thread;
+
+	static synchronized void submit( int priority, Runnable work ){
+		queue.add(new Task(priority, submitted.getAndIncrement(), work));
+		if (thread == null){
+			thread = new Thread("Audio Worker"){
+				@Override
+				public void run() {
+					while (true) {
+						try {
+							queue.take().work.run();
+						} catch (InterruptedException e) {
+							return;
+						} catch (Exception e) {
+							Game.reportException(e);
+						}
+					}
+				}
+			};
+			thread.setDaemon(true);
+			thread.setPriority(Thread.NORM_PRIORITY - 1);
+			thread.start();
+		}
+	}
+
+}
@@ -28,6 +28,8 @@ import com.watabou.utils.Random;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 
 import static com.watabou.utils.FileUtilsKt.getAsset;
 
@@ -47,6 +49,76 @@ public enum MusicPlayer {
 	float[] trackChances;
 	private final ArrayList<String> trackQueue = new ArrayList<>();
 	boolean shuffle = false;
+
+	//players which have been created and prepared ahead of time on the audio worker, by asset name
+	private final LinkedHashMap<String, com.badlogic.gdx.audio.Music> prepared = new LinkedHashMap<>();
+	private static final int MAX_PREPARED = 4;
+
+	//while true, requests to play music only prepare it
+	private boolean prebuffering = false;
+
+	//tracks picked while prebuffering, used when the same track list is then played for real
+	private String[] plannedList;
+	private float[] plannedChances;
+	private final ArrayList<String> plannedQueue = new ArrayList<>();
+
+	//Runs code which would normally start music (e.g. Level.playLevelMusic), but only prepares
+	//any tracks which it would switch to, so that the switch itself is quick when it happens.
+	public synchronized void prebuffer( Runnable musicRequest ){
+		prebuffering = true;
+		try {
+			musicRequest.run();
+		} finally {
+			prebuffering = false;
+		}
+	}
+
+	public void prepare( final String track ){
+		//desktop players are cheap to create, and the desktop backend doesn't support creating them
+		//outside of the render thread. Android players buffer on creation, which is what stutters.
+		if (track == null || DeviceCompat.isDesktop()) return;
+
+		synchronized (this) {
+			if (!enabled || prepared.containsKey(track)) return;
+			//reserve the slot so the same track isn't queued twice
+			prepared.put(track, null);
+		}
+
+		AudioWorker.submit(AudioWorker.NORMAL, () -> {
+			com.badlogic.gdx.audio.Music music;
+			try {
+				music = Gdx.audio.newMusic(getAsset(track));
+			} catch (Exception e){
+				Game.reportException(e);
+				synchronized (MusicPlayer.this) {
+					prepared.remove(track);
+				}
+				return;
+			}
+			synchronized (MusicPlayer.this) {
+				//the reservation was taken or cleared in the meantime
+				if (!prepared.containsKey(track) || prepared.get(track) != null){
+					music.dispose();
+					return;
+				}
+				prepared.put(track, music);
+				Iterator<com.badlogic.gdx.audio.Music> it = prepared.values().iterator();
+				while (prepared.size() > MAX_PREPARED && it.hasNext()){
+					com.badlogic.gdx.audio.Music oldest = it.next();
+					if (oldest == music) continue;
+					if (oldest != null) oldest.dispose();
+					it.remove();
+				}
+			}
+		});
+	}
+
+	private synchronized void clearPrepared(){
+		for (com.badlogic.gdx.audio.Music music : prepared.values()){
+			if (music != null) music.dispose();
+		}
+		prepared.clear();
+	}
 	
 	public synchronized void play( String assetName, boolean looping ) {
 
@@ -58,6 +130,11 @@ public enum MusicPlayer {
 		if (isPlaying() && lastPlayed != null && lastPlayed.equals( assetName )) {
 			return;
 		}
+
+		if (prebuffering){
+			prepare(assetName);
+			return;
+		}
 		
 		stop();
 		
@@ -77,7 +154,7 @@ public enum MusicPlayer {
 	public synchronized void playTracks( String[] tracks, float[] chances, boolean shuffle){
 
 		if (tracks == null || tracks.length == 0 || tracks.length != chances.length){
-			stop();
+			if (!prebuffering) stop();
 			return;
 		}
 
@@ -88,17 +165,18 @@ public enum MusicPlayer {
 			}
 		}
 
-		if (isPlaying() && this.trackList != null && tracks.length == trackList.length){
-
-			boolean sameList = true;
-			for (int i = 0; i < tracks.length; i ++){
-				if (!tracks[i].equals(trackList[i]) || chances[i] != trackChances[i]){
-					sameList = false;
-					break;
-				}
-			}
+		if (isPlaying() && sameTracks(tracks, chances, trackList, trackChances)) {
+			return;
+		}
 
-			if (sameList) return;
+		if (prebuffering){
+			//pick the tracks now, so that only the one which will play first is prepared
+			plannedList = tracks;
+			plannedChances = chances;
+			plannedQueue.clear();
+			rollTracks(tracks, chances, plannedQueue);
+			if (!plannedQueue.isEmpty()) prepare(plannedQueue.get(0));
+			return;
 		}
 
 		stop();
@@ -108,11 +186,14 @@ public enum MusicPlayer {
 		trackChances = chances;
 		trackQueue.clear();
 
-		for (int i = 0; i < trackList.length; i++){
-			if (Random.Float() < trackChances[i]){
-				trackQueue.add(trackList[i]);
-			}
+		if (sameTracks(tracks, chances, plannedList, plannedChances)){
+			trackQueue.addAll(plannedQueue);
+		} else {
+			rollTracks(tracks, chances, trackQueue);
 		}
+		plannedList = null;
+		plannedChances = null;
+		plannedQueue.clear();
 
 		this.looping = false;
 		this.shuffle = shuffle;
@@ -122,15 +203,34 @@ public enum MusicPlayer {
 		}
 
 		play(trackQueue.remove(0), trackLooper);
+		if (!trackQueue.isEmpty()) prepare(trackQueue.get(0));
+	}
+
+	private static boolean sameTracks( String[] tracks, float[] chances, String[] other, float[] otherChances ){
+		if (other == null || tracks.length != other.length) return false;
+		for (int i = 0; i < tracks.length; i ++){
+			if (!tracks[i].equals(other[i]) || chances[i] != otherChances[i]){
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static void rollTracks( String[] tracks, float[] chances, ArrayList<String> queue ){
+		for (int i = 0; i < tracks.length; i++){
+			if (Random.Float() < chances[i]){
+				queue.add(tracks[i]);
+			}
+		}
 	}
 
 	private com.badlogic.gdx.audio.Music.OnCompletionListener trackLooper = new com.badlogic.gdx.audio.Music.OnCompletionListener() {
 		@Override
 		public void onCompletion(com.badlogic.gdx.audio.Music music) {
-			//we do this in a separate thread to avoid graphics hitching while the music is prepared
-			//FIXME this fixes graphics stutter but there's still some audio stutter, perhaps keep more than 1 player alive?
+			//we do this on the audio worker to avoid graphics hitching while the music is prepared
+			//the next track is usually already prepared though, see playNextTrack
 			if (!DeviceCompat.isDesktop()) {
-				new Thread(() -> playNextTrack(music)).start();
+				AudioWorker.submit(AudioWorker.URGENT, () -> playNextTrack(music));
 			} else {
 				//don't use a separate thread on desktop, causes errors and makes no performance difference(?)
 				playNextTrack(music);
@@ -146,11 +246,7 @@ public enum MusicPlayer {
 		MusicPlayer.this.stop();
 
 		if (trackQueue.isEmpty()) {
-			for (int i = 0; i < trackList.length; i++) {
-				if (Random.Float() < trackChances[i]) {
-					trackQueue.add(trackList[i]);
-				}
-			}
+			rollTracks(trackList, trackChances, trackQueue);
 			if (shuffle) Collections.shuffle(trackQueue);
 		}
 
@@ -159,11 +255,17 @@ public enum MusicPlayer {
 		}
 
 		play(trackQueue.remove(0), trackLooper);
+		if (!trackQueue.isEmpty()) prepare(trackQueue.get(0));
 	};
 
 	private synchronized void play(String track, com.badlogic.gdx.audio.Music.OnCompletionListener listener){
 		try {
-			player = Gdx.audio.newMusic(getAsset(track));
+			player = prepared.remove(track);
+			//anything else prepared won't be played now, Android players hold on to a lot until released
+			clearPrepared();
+			if (player == null) {
+				player = Gdx.audio.newMusic(getAsset(track));
+			}
 			player.setLooping(looping);
 			player.setVolume(volume);
 			player.play();
@@ -177,6 +279,7 @@ public enum MusicPlayer {
 	}
 	
 	public synchronized void end() {
+		if (prebuffering) return;
 		lastPlayed = null;
 		trackList = null;
 		stop();
@@ -216,6 +319,9 @@ public enum MusicPlayer {
 	
 	public synchronized void enable( boolean value ) {
 		enabled = value;
+		if (!value) {
+			clearPrepared();
+		}
 		if (isPlaying() && !value) {
 			stop();
 		} else
@@ -23,11 +23,14 @@ package com.watabou.noosa.audio;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.files.FileHandle;
 import com.watabou.noosa.Game;
 
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import static com.watabou.utils.FileUtilsKt.getAsset;
 import static java.lang.Math.max;
@@ -36,7 +39,24 @@ public enum Sample {
 
 	INSTANCE;
 
-	protected HashMap<Object, Sound> ids = new HashMap<>();
+	//access ordered, so the least recently played sound is always first in line for eviction
+	protected LinkedHashMap<Object, Sound> ids = new LinkedHashMap<>(16, 0.75f, true);
+
+	//estimated decoded size of each loaded sound, and the total of those estimates
+	private final HashMap<Object, Long> sizes = new HashMap<>();
+	private long loadedBytes = 0;
+
+	//sounds which are queued on the audio worker, or being loaded by it
+	private final HashSet<Object> pending = new HashSet<>();
+	//pending sounds which were played before loading, and so have also been queued as urgent
+	private final HashSet<Object> promoted = new HashSet<>();
+	//sounds which failed to load, these aren't retried until everything is reset
+	private final HashSet<Object> broken = new HashSet<>();
+
+	//compressed audio usually decodes to ~10x its file size.
+	//This comfortably holds every sound in the game, the limit is only reached if a mod adds a lot more
+	private static final long DEFAULT_CACHE_LIMIT = 16*1024*1024;
+	private long cacheLimit = DEFAULT_CACHE_LIMIT;
 
 	private boolean enabled = true;
 	private float globalVolume = 1f;
@@ -48,6 +68,11 @@ public enum Sample {
 		}
 		
 		ids.clear();
+		sizes.clear();
+		pending.clear();
+		promoted.clear();
+		broken.clear();
+		loadedBytes = 0;
 		delayedSFX.clear();
 
 	}
@@ -66,36 +91,81 @@ public enum Sample {
 
 	public synchronized void load( final String... assets ) {
 
-		final ArrayList<String> toLoad = new ArrayList<>();
+		for (final String asset : assets){
+			if (!ids.containsKey(asset) && !broken.contains(asset) && pending.add(asset)){
+				//loaded on the audio worker to prevent this blocking the UI.
+				//Each sound is its own task, so one which is played early can jump the queue
+				AudioWorker.submit(AudioWorker.BACKGROUND, () -> loadNow(asset));
+			}
+		}
+		
+	}
+
+	//called on the audio worker. A promoted sound has two tasks queued, whichever runs second does nothing
+	private void loadNow( String asset ){
+		synchronized (this) {
+			if (!pending.contains(asset)) return;
+		}
 
-		for (String asset : assets){
-			if (!ids.containsKey(asset)){
-				toLoad.add(asset);
+		FileHandle file = getAsset(asset);
+		Sound newSound;
+		try {
+			newSound = Gdx.audio.newSound(file);
+		} catch (Exception e){
+			Game.reportException(e);
+			synchronized (this) {
+				pending.remove(asset);
+				promoted.remove(asset);
+				broken.add(asset);
 			}
+			return;
 		}
 
-		//don't make a new thread of all assets are already loaded
-		if (toLoad.isEmpty()) return;
-
-		//load in a separate thread to prevent this blocking the UI
-		new Thread(){
-			@Override
-			public void run() {
-				for (String asset : toLoad) {
-					Sound newSound = Gdx.audio.newSound(getAsset(asset));
-					synchronized (INSTANCE) {
-						ids.put(asset, newSound);
-					}
-				}
+		long size = file.length();
+		//compressed assets report no length on some platforms, assume they are of typical size
+		if (size <= 0) size = 16*1024;
+		if (!asset.endsWith(".wav")) size *= 10;
+
+		synchronized (this) {
+			//the sound was unloaded, or everything was reset, while it was loading
+			if (!pending.remove(asset)){
+				newSound.dispose();
+				return;
 			}
-		}.start();
-		
+			promoted.remove(asset);
+			ids.put(asset, newSound);
+			sizes.put(asset, size);
+			loadedBytes += size;
+			trim(asset);
+		}
+	}
+
+	//evicts least recently played sounds until the cache fits within its limit
+	private void trim( Object keep ){
+		Iterator<Map.Entry<Object, Sound>> it = ids.entrySet().iterator();
+		while (loadedBytes > cacheLimit && it.hasNext()){
+			Map.Entry<Object, Sound> e = it.next();
+			if (e.getKey().equals(keep)) continue;
+			e.getValue().dispose();
+			Long size = sizes.remove(e.getKey());
+			if (size != null) loadedBytes -= size;
+			it.remove();
+		}
+	}
+
+	public synchronized void cacheLimit( long bytes ){
+		cacheLimit = bytes;
+		trim(null);
 	}
 
 	public synchronized void unload( Object src ) {
+		pending.remove( src );
+		promoted.remove( src );
 		if (ids.containsKey( src )) {
 			ids.get( src ).dispose();
 			ids.remove( src );
+			Long size = sizes.remove( src );
+			if (size != null) loadedBytes -= size;
 		}
 	}
 
@@ -114,11 +184,23 @@ public enum Sample {
 	public synchronized long play( Object id, float leftVolume, float rightVolume, float pitch ) {
 		float volume = max(leftVolume, rightVolume);
 		float pan = rightVolume - leftVolume;
-		if (enabled && ids.containsKey( id )) {
-			return ids.get(id).play( globalVolume*volume, pitch, pan );
-		} else {
-			return -1;
+		if (!enabled) return -1;
+
+		Sound sound = ids.get( id );
+		if (sound != null) {
+			return sound.play( globalVolume*volume, pitch, pan );
+		}
+
+		//this sound was evicted or hasn't been loaded yet, get it ready for next time.
+		//If it is already queued as part of a bulk load, it is queued again ahead of that
+		if (id instanceof String && !broken.contains( id )){
+			pending.add( id );
+			if (promoted.add( id )) {
+				final String asset = (String)id;
+				AudioWorker.submit(AudioWorker.URGENT, () -> loadNow(asset));
+			}
 		}
+		return -1;
 	}
 
 	private class DelayedSoundEffect{
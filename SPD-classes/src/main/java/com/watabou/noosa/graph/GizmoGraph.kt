@@ -31,14 +31,11 @@ fun updateGraph(group: Group) {
 }
 
 private fun updateNode(group: Group) {
-    synchronized(group) {
-        (Group::class.java.getDeclaredField("children")
-            .apply { isAccessible = true }
-            .get(group) as ArrayList<*>)
-            .forEach { child ->
-                graph.addEdge("$group->$child", "$group", "$child")
-                graph.getNode("$child").setAttribute("retain")
-                if (child is Group) updateNode(child)
-            }
-    }
+    group.members
+        .filterNotNull()
+        .forEach { child ->
+            graph.addEdge("$group->$child", "$group", "$child")
+            graph.getNode("$child").setAttribute("retain")
+            if (child is Group) updateNode(child)
+        }
 }
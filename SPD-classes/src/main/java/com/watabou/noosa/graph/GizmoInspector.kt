@@ -0,0 +1,153 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2022 Evan Debenham
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+package com.watabou.noosa.graph
+
+import com.watabou.noosa.Game
+import com.watabou.noosa.Gizmo
+import com.watabou.noosa.Group
+import com.watabou.noosa.Scene
+import com.watabou.utils.writeText
+import java.io.IOException
+
+/**
+ * Keeps count of the gizmos in the current scene by class, so leaks can be spotted while the game runs.
+ *
+ * Unlike [updateGraph], nothing is walked per frame: [Group] reports gizmos entering and leaving the scene
+ * and gizmos being killed or revived, and only [snapshots][snapshot] walk the scene, to count visible gizmos.
+ * A gizmo counts as dead only if it was killed itself, not if one of its parents was.
+ */
+object GizmoInspector {
+
+    private const val ATTACHED = 0
+    private const val DEAD = 1
+
+    var on = false
+        private set
+
+    private val counts = HashMap<Class<*>, IntArray>()
+
+    /**
+     * Starts counting, beginning with whatever is in the current scene.
+     */
+    @JvmStatic // TODO: remove this after moving use cases to kotlin
+    @Synchronized
+    fun enable() {
+        counts.clear()
+        on = true
+        currentScene()?.let { scene -> scene.members.forEach { it?.let(::entered) } }
+    }
+
+    @JvmStatic // TODO: remove this after moving use cases to kotlin
+    @Synchronized
+    fun disable() {
+        on = false
+        counts.clear()
+    }
+
+    private fun currentScene(): Scene? = Game.instance?.let { Game.scene() }
+
+    /**
+     * Whether the gizmo is part of the scene being shown, rather than a detached or discarded tree.
+     */
+    internal fun inScene(g: Gizmo): Boolean {
+        var root = g
+        while (true) root = root.parent ?: break
+        return root === currentScene()
+    }
+
+    /**
+     * Called when [g] is attached somewhere in the current scene, counts it and all of its descendants.
+     */
+    @Synchronized
+    internal fun entered(g: Gizmo) {
+        val count = counts.getOrPut(g.javaClass) { IntArray(2) }
+        count[ATTACHED]++
+        g.countedDead = !g.alive
+        if (g.countedDead) count[DEAD]++
+        if (g is Group) g.members.forEach { it?.let(::entered) }
+    }
+
+    /**
+     * Called when [g] is detached from the current scene, uncounts it and all of its descendants.
+     */
+    @Synchronized
+    internal fun left(g: Gizmo) {
+        val count = counts[g.javaClass] ?: return
+        count[ATTACHED]--
+        if (g.countedDead) count[DEAD]--
+        g.countedDead = false
+        if (g is Group) g.members.forEach { it?.let(::left) }
+    }
+
+    @Synchronized
+    internal fun died(g: Gizmo) {
+        if (g.countedDead) return
+        g.countedDead = true
+        counts[g.javaClass]?.let { it[DEAD]++ }
+    }
+
+    @Synchronized
+    internal fun revived(g: Gizmo) {
+        if (!g.countedDead) return
+        g.countedDead = false
+        counts[g.javaClass]?.let { it[DEAD]-- }
+    }
+
+    /**
+     * Lists every gizmo class in the current scene as CSV, with the most numerous classes first.
+     */
+    @JvmStatic // TODO: remove this after moving use cases to kotlin
+    @Synchronized
+    fun snapshot(): String {
+        val visible = HashMap<Class<*>, Int>()
+        currentScene()?.let { countVisible(it, visible) }
+
+        val builder = StringBuilder("class,attached,alive,dead,visible\n")
+        counts.entries
+            .filter { it.value[ATTACHED] > 0 }
+            .sortedByDescending { it.value[ATTACHED] }
+            .forEach { (c, count) ->
+                builder.append(c.name).append(',')
+                    .append(count[ATTACHED]).append(',')
+                    .append(count[ATTACHED] - count[DEAD]).append(',')
+                    .append(count[DEAD]).append(',')
+                    .append(visible[c] ?: 0).append('\n')
+            }
+        return builder.toString()
+    }
+
+    private fun countVisible(group: Group, visible: HashMap<Class<*>, Int>) {
+        group.members.forEach {
+            if (it != null && it.alive && it.visible) {
+                visible[it.javaClass] = (visible[it.javaClass] ?: 0) + 1
+                if (it is Group) countVisible(it, visible)
+            }
+        }
+    }
+
+    /**
+     * Writes a [snapshot] into a file.
+     * @param path path of the file to write into
+     */
+    @JvmStatic // TODO: remove this after moving use cases to kotlin
+    @Throws(IOException::class)
+    fun dump(path: String) = writeText(path, snapshot())
+}
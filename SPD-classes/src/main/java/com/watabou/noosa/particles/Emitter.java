@@ -52,6 +52,14 @@ public class Emitter extends Group {
 	protected float time;
 	
 	protected Factory factory;
+
+	protected PixelParticles particles;
+
+	//pooled storage for factories which emit plain pixel particles, created on first use
+	public PixelParticles particles(){
+		if (particles == null) particles = new PixelParticles();
+		return particles;
+	}
 	
 	public void pos( float x, float y ) {
 		pos( x, y, 0, 0 );
@@ -126,11 +134,24 @@ public class Emitter extends Group {
 					break;
 				}
 			}
-		} else if (started && autoKill && getChildren().isEmpty()) {
+		} else if (started && autoKill && getChildren().isEmpty()
+				&& (particles == null || particles.isEmpty())) {
 			kill();
 		}
 		
 		super.update();
+
+		if (particles != null) {
+			particles.update( getVisible() );
+		}
+	}
+
+	@Override
+	public void kill() {
+		super.kill();
+		if (particles != null) {
+			particles.clear();
+		}
 	}
 
 	@Override
@@ -167,10 +188,17 @@ public class Emitter extends Group {
 	public void draw() {
 		if (lightMode) {
 			BlendingKt.setLightMode();
-			super.draw();
+			drawParticles();
 			BlendingKt.setNormalMode();
 		} else {
-			super.draw();
+			drawParticles();
+		}
+	}
+
+	private void drawParticles(){
+		super.draw();
+		if (particles != null) {
+			particles.draw( getCamera() );
 		}
 	}
 	
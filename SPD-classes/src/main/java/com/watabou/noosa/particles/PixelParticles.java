@@ -0,0 +1,314 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2022 Evan Debenham
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package com.watabou.noosa.particles;
+
+import com.watabou.glwrap.Matrix;
+import com.watabou.glwrap.QuadKt;
+import com.watabou.glwrap.Texture;
+import com.watabou.noosa.Camera;
+import com.watabou.noosa.Game;
+import com.watabou.noosa.Script;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+//Pixel particles which are stored in primitive arrays instead of being individual gizmos.
+//An emitter owns one of these, updates it in a single loop and draws it with one quad set.
+//Each particle's colour is written into a shared texture which its quad samples from,
+//so particles of any colour and alpha can share a draw call.
+//The colours of every emitter which changed are uploaded together, normally once per frame.
+public class PixelParticles {
+
+	//particle's alpha goes from 1 to 0 over its lifespan
+	public static final int FADE_OUT    = 1;
+	//particle quickly fades in over the first 20% of its lifespan, as flames do
+	public static final int FADE_IN     = 2;
+
+	public float[] x;
+	public float[] y;
+	public float[] speedX;
+	public float[] speedY;
+	public float[] accX;
+	public float[] accY;
+
+	//size goes from startSize to endSize over the particle's lifespan
+	public float[] startSize;
+	public float[] endSize;
+
+	public float[] left;
+	public float[] lifespan;
+
+	public int[] color;
+	public int[] flags;
+
+	private int count;
+
+	//whether colours have changed since they were last uploaded
+	private boolean changed;
+	//where this emitter's colours start in the shared texture, and in which upload they were written
+	private int colorOffset;
+	private int uploadedIn = -1;
+	private boolean queued;
+
+	public PixelParticles(){
+		allocate( 32 );
+	}
+
+	private void allocate( int capacity ){
+		x = x == null ? new float[capacity] : Arrays.copyOf( x, capacity );
+		y = y == null ? new float[capacity] : Arrays.copyOf( y, capacity );
+		speedX = speedX == null ? new float[capacity] : Arrays.copyOf( speedX, capacity );
+		speedY = speedY == null ? new float[capacity] : Arrays.copyOf( speedY, capacity );
+		accX = accX == null ? new float[capacity] : Arrays.copyOf( accX, capacity );
+		accY = accY == null ? new float[capacity] : Arrays.copyOf( accY, capacity );
+		startSize = startSize == null ? new float[capacity] : Arrays.copyOf( startSize, capacity );
+		endSize = endSize == null ? new float[capacity] : Arrays.copyOf( endSize, capacity );
+		left = left == null ? new float[capacity] : Arrays.copyOf( left, capacity );
+		lifespan = lifespan == null ? new float[capacity] : Arrays.copyOf( lifespan, capacity );
+		color = color == null ? new int[capacity] : Arrays.copyOf( color, capacity );
+		flags = flags == null ? new int[capacity] : Arrays.copyOf( flags, capacity );
+	}
+
+	public int count(){
+		return count;
+	}
+
+	public boolean isEmpty(){
+		return count == 0;
+	}
+
+	public void clear(){
+		count = 0;
+	}
+
+	private void queue(){
+		if (!queued) {
+			queued = true;
+			pending.add( this );
+		}
+	}
+
+	//adds a motionless particle of constant size and returns its index, which stays valid until the next update.
+	//the arrays may be reallocated by this, so they should only be read after calling it.
+	public int add( float x, float y, int color, float size, float lifespan ){
+		if (count == this.x.length) {
+			allocate( count * 2 );
+		}
+		int i = count++;
+		this.x[i] = x;
+		this.y[i] = y;
+		speedX[i] = speedY[i] = 0;
+		accX[i] = accY[i] = 0;
+		startSize[i] = endSize[i] = size;
+		left[i] = this.lifespan[i] = lifespan;
+		this.color[i] = color;
+		flags[i] = 0;
+		changed = true;
+		return i;
+	}
+
+	//invisible emitters are still updated, but aren't packed into the next colour upload
+	public void update( boolean visible ){
+		if (count == 0) return;
+		changed = true;
+		if (visible) queue();
+
+		float elapsed = Game.elapsed;
+		int i = 0;
+		while (i < count) {
+			if ((left[i] -= elapsed) <= 0) {
+				//fill the gap with the last particle, draw order of particles doesn't matter
+				count--;
+				if (i != count) move( count, i );
+				continue;
+			}
+
+			speedX[i] += accX[i] * elapsed;
+			x[i] += speedX[i] * elapsed;
+			speedY[i] += accY[i] * elapsed;
+			y[i] += speedY[i] * elapsed;
+			i++;
+		}
+	}
+
+	private void move( int from, int to ){
+		x[to] = x[from];
+		y[to] = y[from];
+		speedX[to] = speedX[from];
+		speedY[to] = speedY[from];
+		accX[to] = accX[from];
+		accY[to] = accY[from];
+		startSize[to] = startSize[from];
+		endSize[to] = endSize[from];
+		left[to] = left[from];
+		lifespan[to] = lifespan[from];
+		color[to] = color[from];
+		flags[to] = flags[from];
+	}
+
+	//colours are laid out in rows of the shared colour texture, one texel per particle.
+	//This is shared by all emitters, a single emitter with more particles draws the rest in further passes.
+	private static final int COLORS_WIDTH = 128;
+	private static final int COLORS_HEIGHT = 64;
+	private static final int MAX_QUADS = COLORS_WIDTH * COLORS_HEIGHT;
+
+	private static final Object COLORS_KEY = "pixel particle colors";
+
+	private static Texture colors;
+	private static final float[] vertices = new float[MAX_QUADS * 16];
+	private static FloatBuffer vertexBuffer;
+	private static final Matrix IDENTITY = new Matrix();
+
+	//emitters whose colours need uploading before they are drawn
+	private static final ArrayList<PixelParticles> pending = new ArrayList<>();
+	private static int uploads = 0;
+
+	public void draw( Camera camera ){
+		if (count == 0) return;
+
+		//the texture is re-created if it was cleared along with the other textures
+		Texture texture = Texture.Companion.create( COLORS_KEY, COLORS_WIDTH, COLORS_HEIGHT );
+		if (texture != colors) {
+			colors = texture;
+			colors.filter( Texture.NEAREST );
+			uploads++;
+		}
+		if (vertexBuffer == null) {
+			vertexBuffer = QuadKt.createSet( MAX_QUADS );
+		}
+
+		//the first emitter drawn in a frame uploads the colours of every emitter which was updated.
+		//An emitter only triggers another upload if it wasn't part of the latest one,
+		//e.g. when it was drawn without being updated, as its area may have been reused since
+		if (changed || uploadedIn != uploads) {
+			//packed first, so this emitter is certain to fit
+			if (queued) pending.remove( this );
+			queued = true;
+			pending.add( 0, this );
+			uploadColors();
+		}
+
+		Script script = Script.get();
+		script.setCamera( camera );
+		script.getUModel().set( IDENTITY );
+		script.lighting( 1, 1, 1, 1, 0, 0, 0, 0 );
+
+		//getting the script flushes any batched images, which leaves their texture bound
+		colors.bind();
+		drawQuads( script, 0, Math.min( MAX_QUADS, count ), colorOffset );
+
+		//particles which don't fit in the colour texture reuse its start, one pass at a time.
+		//Every other emitter's colours are overwritten by this, so they upload again when drawn
+		for (int start = MAX_QUADS; start < count; start += MAX_QUADS) {
+			int quads = Math.min( MAX_QUADS, count - start );
+			uploads++;
+			writeColors( colors.bitmap.getPixels(), 0, start, quads );
+			colors.updateRect( 0, 0, COLORS_WIDTH, (quads + COLORS_WIDTH - 1) / COLORS_WIDTH );
+			drawQuads( script, start, quads, 0 );
+		}
+	}
+
+	private void drawQuads( Script script, int start, int quads, int offset ){
+		fillVertices( start, quads, offset );
+
+		((Buffer)vertexBuffer).position( 0 );
+		vertexBuffer.put( vertices, 0, quads * 16 );
+		script.drawQuadSet( vertexBuffer, quads );
+	}
+
+	//writes the colours of all pending emitters, and uploads them with a single texture update.
+	//Draws already submitted keep the colours they were submitted with, so earlier areas can be reused
+	private static void uploadColors(){
+		uploads++;
+
+		ByteBuffer pixels = colors.bitmap.getPixels();
+		int offset = 0;
+		for (PixelParticles p : pending) {
+			p.queued = false;
+			int quads = Math.min( MAX_QUADS, p.count );
+			//anything which doesn't fit is uploaded again when it is drawn
+			if (quads == 0 || offset + quads > MAX_QUADS) continue;
+
+			p.writeColors( pixels, offset, 0, quads );
+			p.colorOffset = offset;
+			p.uploadedIn = uploads;
+			p.changed = false;
+			offset += quads;
+		}
+		pending.clear();
+
+		boolean generated = colors.getGenerated();
+		//binding first generates the texture with the colours which were just written
+		colors.bind();
+		if (generated) {
+			colors.updateRect( 0, 0, COLORS_WIDTH, (offset + COLORS_WIDTH - 1) / COLORS_WIDTH );
+		}
+	}
+
+	private float progress( int i ){
+		return left[i] / lifespan[i];
+	}
+
+	private void writeColors( ByteBuffer pixels, int offset, int start, int quads ){
+		for (int i = start; i < start + quads; i++) {
+			float p = progress( i );
+			float alpha;
+			if ((flags[i] & FADE_OUT) != 0) {
+				alpha = p;
+			} else if ((flags[i] & FADE_IN) != 0) {
+				alpha = p > 0.8f ? (1 - p) * 5 : 1;
+			} else {
+				alpha = 1;
+			}
+
+			int c = color[i];
+			int o = (offset + i - start) * 4;
+			pixels.put( o, (byte)(c >> 16) );
+			pixels.put( o + 1, (byte)(c >> 8) );
+			pixels.put( o + 2, (byte)c );
+			pixels.put( o + 3, (byte)(Math.max( 0, Math.min( 1, alpha ) ) * 255) );
+		}
+	}
+
+	private void fillVertices( int start, int quads, int offset ){
+		int v = 0;
+		for (int i = start; i < start + quads; i++) {
+			float p = progress( i );
+
+			//sizes are centered on the pixel, as a pixel particle's origin is
+			float half = (endSize[i] + (startSize[i] - endSize[i]) * p) / 2f;
+			float cx = x[i] + 0.5f;
+			float cy = y[i] + 0.5f;
+			int texel = offset + i - start;
+			float u = ((texel % COLORS_WIDTH) + 0.5f) / COLORS_WIDTH;
+			float tv = ((texel / COLORS_WIDTH) + 0.5f) / COLORS_HEIGHT;
+
+			vertices[v++] = cx - half; vertices[v++] = cy - half; vertices[v++] = u; vertices[v++] = tv;
+			vertices[v++] = cx + half; vertices[v++] = cy - half; vertices[v++] = u; vertices[v++] = tv;
+			vertices[v++] = cx + half; vertices[v++] = cy + half; vertices[v++] = u; vertices[v++] = tv;
+			vertices[v++] = cx - half; vertices[v++] = cy + half; vertices[v++] = u; vertices[v++] = tv;
+		}
+	}
+}
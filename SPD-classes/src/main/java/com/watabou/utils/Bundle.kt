@@ -81,14 +81,14 @@ class Bundle private constructor(
 
     fun getClass(key: String): Class<*>? = Reflection.forName(getString(key).replace("class ", "").let { cls ->
         if (cls == "") return null
-        aliases[cls] ?: cls
+        alias(cls)
     })
 
     fun getBundle(key: String): Bundle? = data.optJSONObject(key)?.let { Bundle(it) }
 
     private fun get(): Bundlable? {
         return (Reflection.newInstance(
-            Reflection.forName(getString(CLASS_NAME).let { cls -> aliases[cls] ?: cls }) ?: return null
+            Reflection.forName(alias(getString(CLASS_NAME))) ?: return null
         ) as Bundlable).also { it.restoreFromBundle(this) }
     }
 
@@ -115,7 +115,7 @@ class Bundle private constructor(
     }.toTypedArray()
 
     fun getClassArray(key: String): Array<Class<*>> = data.getJSONArray(key).let {
-        it.mapIndexed { index, _ -> Reflection.forName(it.getString(index).replace("class ", "").let { cls -> aliases[cls] ?: cls }) }
+        it.mapIndexed { index, _ -> Reflection.forName(alias(it.getString(index).replace("class ", ""))) }
     }.toTypedArray()
 
     @JvmOverloads
@@ -283,7 +283,29 @@ class Bundle private constructor(
          */
         @JvmStatic
         fun addAlias(cl: Class<*>, alias: String) {
-            aliases[alias] = cl.name
+            synchronized(aliases) { aliases[alias] = cl.name }
+        }
+
+        private val aliasRegistrations = ArrayList<Runnable>()
+
+        /**
+         * Registers aliases lazily: [registration] is run, and should [add aliases][addAlias],
+         * right before the first class name is looked up.
+         * This keeps the aliased classes from being loaded at startup, when no bundles are read yet.
+         * @param registration code which adds aliases
+         */
+        @JvmStatic
+        fun addAliases(registration: Runnable) {
+            synchronized(aliases) { aliasRegistrations += registration }
+        }
+
+        private fun alias(cls: String): String = synchronized(aliases) {
+            if (aliasRegistrations.isNotEmpty()) {
+                val pending = ArrayList(aliasRegistrations)
+                aliasRegistrations.clear()
+                pending.forEach { it.run() }
+            }
+            aliases[cls] ?: cls
         }
     }
 }
\ No newline at end of file
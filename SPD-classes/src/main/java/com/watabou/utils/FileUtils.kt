@@ -89,6 +89,20 @@ fun overwriteFile(path: String, length: Int) {
     getFileHandle(path).writeBytes(ByteArray(length) { 1 }, false)
 }
 
+/**
+ * Writes plain text into a file, replacing any previous content.
+ * @param path path to the file in question
+ * @param text text to write
+ */
+@Throws(IOException::class)
+fun writeText(path: String, text: String) {
+    try {
+        getFileHandle(path).writeString(text, false, "UTF-8")
+    } catch (e: GdxRuntimeException) {
+        throw IOException(e)
+    }
+}
+
 // endregion
 
 // region Directories
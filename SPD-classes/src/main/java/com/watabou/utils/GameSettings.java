@@ -25,6 +25,9 @@ import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Preferences;
 import com.watabou.noosa.Game;
 
+import java.util.Timer;
+import java.util.TimerTask;
+
 import static com.watabou.utils.MathKt.clamp;
 
 public class GameSettings {
@@ -32,6 +35,14 @@ public class GameSettings {
 	public static final String DEFAULT_PREFS_FILE = "settings.xml";
 	
 	private static Preferences prefs;
+
+	//changes are written to disk in batches, this long after the last change
+	private static final long FLUSH_DELAY_MS = 1000;
+
+	//all access to prefs goes through this lock, as flushing happens on the writer thread
+	private static final Object lock = new Object();
+	private static Timer writer;
+	private static TimerTask pendingFlush;
 	
 	private static Preferences get() {
 		if (prefs == null) {
@@ -42,11 +53,51 @@ public class GameSettings {
 	
 	//allows setting up of preferences directly during game initialization
 	public static void set( Preferences prefs ){
-		GameSettings.prefs = prefs;
+		synchronized (lock) {
+			GameSettings.prefs = prefs;
+		}
+	}
+
+	//changes are kept in memory and reads see them immediately, writing them out is deferred
+	private static void scheduleFlush(){
+		if (pendingFlush != null) {
+			pendingFlush.cancel();
+		}
+		if (writer == null) {
+			writer = new Timer("Settings Writer", true);
+		}
+		pendingFlush = new TimerTask() {
+			@Override
+			public void run() {
+				synchronized (lock) {
+					if (pendingFlush != this) return;
+					pendingFlush = null;
+					try {
+						get().flush();
+					} catch (Exception e) {
+						Game.reportException(e);
+					}
+				}
+			}
+		};
+		writer.schedule(pendingFlush, FLUSH_DELAY_MS);
+	}
+
+	//writes out any pending changes immediately, on the calling thread.
+	//Use this for values which must survive a crash, and whenever the app may be about to close
+	public static void flushNow(){
+		synchronized (lock) {
+			if (pendingFlush == null) return;
+			pendingFlush.cancel();
+			pendingFlush = null;
+			get().flush();
+		}
 	}
 	
 	public static boolean contains( String key ){
-		return get().contains( key );
+		synchronized (lock) {
+			return get().contains( key );
+		}
 	}
 	
 	public static int getInt( String key, int defValue ) {
@@ -55,7 +106,10 @@ public class GameSettings {
 	
 	public static int getInt( String key, int defValue, int min, int max ) {
 		try {
-			int i = get().getInteger( key, defValue );
+			int i;
+			synchronized (lock) {
+				i = get().getInteger( key, defValue );
+			}
 			if (i < min || i > max){
 				int val = clamp(min, i, max);
 				put(key, val);
@@ -76,7 +130,10 @@ public class GameSettings {
 
 	public static long getLong( String key, long defValue, long min, long max ) {
 		try {
-			long i = get().getLong( key, defValue );
+			long i;
+			synchronized (lock) {
+				i = get().getLong( key, defValue );
+			}
 			if (i < min || i > max){
 				long val = (long) clamp(min, i, max);
 				put(key, val);
@@ -93,7 +150,9 @@ public class GameSettings {
 	
 	public static boolean getBoolean( String key, boolean defValue ) {
 		try {
-			return get().getBoolean(key, defValue);
+			synchronized (lock) {
+				return get().getBoolean(key, defValue);
+			}
 		} catch (Exception e) {
 			Game.reportException(e);
 			return defValue;
@@ -106,7 +165,10 @@ public class GameSettings {
 	
 	public static String getString( String key, String defValue, int maxLength ) {
 		try {
-			String s = get().getString( key, defValue );
+			String s;
+			synchronized (lock) {
+				s = get().getString( key, defValue );
+			}
 			if (s != null && s.length() > maxLength) {
 				put(key, defValue);
 				return defValue;
@@ -121,23 +183,31 @@ public class GameSettings {
 	}
 	
 	public static void put( String key, int value ) {
-		get().putInteger(key, value);
-		get().flush();
+		synchronized (lock) {
+			get().putInteger(key, value);
+			scheduleFlush();
+		}
 	}
 
 	public static void put( String key, long value ) {
-		get().putLong(key, value);
-		get().flush();
+		synchronized (lock) {
+			get().putLong(key, value);
+			scheduleFlush();
+		}
 	}
 	
 	public static void put( String key, boolean value ) {
-		get().putBoolean(key, value);
-		get().flush();
+		synchronized (lock) {
+			get().putBoolean(key, value);
+			scheduleFlush();
+		}
 	}
 	
 	public static void put( String key, String value ) {
-		get().putString(key, value);
-		get().flush();
+		synchronized (lock) {
+			get().putString(key, value);
+			scheduleFlush();
+		}
 	}
 	
 }
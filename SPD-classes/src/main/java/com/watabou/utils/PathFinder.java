@@ -27,7 +27,6 @@ import java.util.LinkedList;
 public class PathFinder {
 	
 	public static int[] distance;
-	private static int[] maxVal;
 	
 	private static boolean[] goals;
 	private static int[] queue;
@@ -58,9 +57,6 @@ public class PathFinder {
 		goals = new boolean[size];
 		queue = new int[size];
 
-		maxVal = new int[size];
-		Arrays.fill(maxVal, Integer.MAX_VALUE);
-
 		dir = new int[]{-1, +1, -width, +width, -width-1, -width+1, +width-1, +width+1};
 		dirLR = new int[]{-1-width, -1, -1+width, -width, +width, +1-width, +1, +1+width};
 
@@ -163,7 +159,7 @@ public class PathFinder {
 			return false;
 		}
 
-		System.arraycopy(maxVal, 0, distance, 0, maxVal.length);
+		Arrays.fill(distance, Integer.MAX_VALUE);
 		
 		boolean pathFound = false;
 		
@@ -203,7 +199,7 @@ public class PathFinder {
 	
 	public static void buildDistanceMap( int to, boolean[] passable, int limit ) {
 		
-		System.arraycopy(maxVal, 0, distance, 0, maxVal.length);
+		Arrays.fill(distance, Integer.MAX_VALUE);
 		
 		int head = 0;
 		int tail = 0;
@@ -243,7 +239,7 @@ public class PathFinder {
 			return false;
 		}
 		
-		System.arraycopy(maxVal, 0, distance, 0, maxVal.length);
+		Arrays.fill(distance, Integer.MAX_VALUE);
 		
 		boolean pathFound = false;
 		
@@ -287,7 +283,7 @@ public class PathFinder {
 	
 	private static int buildEscapeDistanceMap( int cur, int from, int lookAhead, boolean[] passable ) {
 		
-		System.arraycopy(maxVal, 0, distance, 0, maxVal.length);
+		Arrays.fill(distance, Integer.MAX_VALUE);
 		
 		int destDist = Integer.MAX_VALUE;
 		
@@ -335,7 +331,7 @@ public class PathFinder {
 	
 	public static void buildDistanceMap( int to, boolean[] passable ) {
 		
-		System.arraycopy(maxVal, 0, distance, 0, maxVal.length);
+		Arrays.fill(distance, Integer.MAX_VALUE);
 		
 		int head = 0;
 		int tail = 0;
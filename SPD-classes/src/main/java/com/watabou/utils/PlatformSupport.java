@@ -51,9 +51,17 @@ public abstract class PlatformSupport {
 		Gdx.net.openURI(uri);
 	}
 
+	//total bytes allocated by the calling thread so far, or -1 if the platform can't measure this
+	public long threadAllocatedBytes(){
+		return -1;
+	}
+
 	//TODO should consider spinning this into its own class, rather than platform support getting ever bigger
 	protected static HashMap<FreeTypeFontGenerator, HashMap<Integer, BitmapFont>> fonts;
 
+	//incremented whenever generated fonts are discarded, anything built from their glyphs must be rebuilt
+	public static int fontGeneration = 0;
+
 	protected int pageSize;
 	protected PixmapPacker packer;
 	protected boolean systemfont;
@@ -65,6 +73,10 @@ public abstract class PlatformSupport {
 	public abstract String[] splitForTextBlock(String text, boolean multiline );
 
 	public void resetGenerators( boolean setupAfter ){
+		fontGeneration++;
+		synchronized (this) {
+			warmupProgress.clear();
+		}
 		if (fonts != null) {
 			for (FreeTypeFontGenerator generator : fonts.keySet()) {
 				for (BitmapFont f : fonts.get(generator).values()) {
@@ -86,6 +98,10 @@ public abstract class PlatformSupport {
 	}
 
 	public void reloadGenerators(){
+		fontGeneration++;
+		synchronized (this) {
+			warmupProgress.clear();
+		}
 		if (packer != null) {
 			for (FreeTypeFontGenerator generator : fonts.keySet()) {
 				for (BitmapFont f : fonts.get(generator).values()) {
@@ -103,6 +119,44 @@ public abstract class PlatformSupport {
 		}
 	}
 
+	//characters which are likely to be rendered soon, generated ahead of time by warmGlyphs
+	private String warmupChars = "";
+	private HashMap<BitmapFont, Integer> warmupProgress = new HashMap<>();
+
+	//can be called from any thread
+	public synchronized void queueGlyphWarmup( String chars ){
+		warmupChars = chars;
+		warmupProgress.clear();
+	}
+
+	//Generates queued glyphs for every font which has been created so far, spending at most maxMillis.
+	//Glyph generation uploads to the font's GL textures, so this must be called from the render thread.
+	public synchronized void warmGlyphs( long maxMillis ){
+		if (fonts == null || warmupChars.isEmpty()) return;
+
+		long end = System.currentTimeMillis() + maxMillis;
+		for (FreeTypeFontGenerator generator : fonts.keySet()) {
+			for (BitmapFont font : fonts.get(generator).values()) {
+				Integer progress = warmupProgress.get(font);
+				int i = progress == null ? 0 : progress;
+				if (i >= warmupChars.length()) continue;
+
+				while (i < warmupChars.length()) {
+					char c = warmupChars.charAt(i++);
+					if (getGeneratorForString(String.valueOf(c)) == generator) {
+						//fetching a glyph generates it in incremental fonts
+						font.getData().getGlyph(c);
+					}
+					if (System.currentTimeMillis() >= end) {
+						warmupProgress.put(font, i);
+						return;
+					}
+				}
+				warmupProgress.put(font, i);
+			}
+		}
+	}
+
 	//flipped is needed because Shattered's graphics are y-down, while GDX graphics are y-up.
 	//this is very confusing, I know.
 	public BitmapFont getFont(int size, String text, boolean flipped, boolean border) {
@@ -34,27 +34,73 @@ public class Random {
 	//we store a stack of random number generators, which may be seeded deliberately or randomly.
 	//top of the stack is what is currently being used to generate new numbers.
 	//the base generator is always created with no seed, and cannot be popped.
-	private static ArrayDeque<java.util.Random> generators;
+	//volatile as resetGenerators replaces it, while the actor thread may be reading it
+	private static volatile Generators generators;
+
+	//independent game instances running on their own threads bind their own stack, see bindGenerators.
+	//all other threads share the default stack.
+	//declared before the static block below, which needs it
+	private static final ThreadLocal<Generators> boundGenerators = new ThreadLocal<>();
+
 	static {
 		resetGenerators();
 	}
 
-	public static synchronized void resetGenerators(){
-		generators = new ArrayDeque<>();
-		generators.push(new java.util.Random());
+	public static class Generators {
+		private final ArrayDeque<java.util.Random> stack = new ArrayDeque<>();
+
+		public Generators(){
+			stack.push(new java.util.Random());
+		}
+
+		//drops every pushed generator and replaces the base one, keeping this object
+		//so that anything holding on to it (e.g. a game context) stays in sync
+		private synchronized void reset(){
+			stack.clear();
+			stack.push(new java.util.Random());
+		}
+	}
+
+	private static Generators generators(){
+		Generators bound = boundGenerators.get();
+		return bound != null ? bound : generators;
+	}
+
+	//makes the calling thread use the given generators, or the shared default ones if null is given
+	public static void bindGenerators( Generators generators ){
+		if (generators == null) {
+			boundGenerators.remove();
+		} else {
+			boundGenerators.set(generators);
+		}
+	}
+
+	public static void resetGenerators(){
+		Generators bound = boundGenerators.get();
+		if (bound != null) {
+			bound.reset();
+		} else {
+			generators = new Generators();
+		}
 	}
 
-	public static synchronized void pushGenerator(){
-		generators.push( new java.util.Random() );
+	public static void pushGenerator(){
+		Generators g = generators();
+		synchronized (g) {
+			g.stack.push( new java.util.Random() );
+		}
 	}
 
-	public static synchronized void pushGenerator( long seed ){
-		generators.push( new java.util.Random( scrambleSeed(seed) ) );
+	public static void pushGenerator( long seed ){
+		Generators g = generators();
+		synchronized (g) {
+			g.stack.push( new java.util.Random( scrambleSeed(seed) ) );
+		}
 	}
 
 	//scrambles a given seed, this helps eliminate patterns between the outputs of similar seeds
 	//Algorithm used is MX3 by Jon Maiga (jonkagstrom.com), CC0 license.
-	private static synchronized long scrambleSeed( long seed ){
+	private static long scrambleSeed( long seed ){
 		seed ^= seed >>> 32;
 		seed *= 0xbea225f9eb34556dL;
 		seed ^= seed >>> 29;
@@ -65,17 +111,23 @@ public class Random {
 		return seed;
 	}
 
-	public static synchronized void popGenerator(){
-		if (generators.size() == 1){
-			Game.reportException( new RuntimeException("tried to pop the last random number generator!"));
-		} else {
-			generators.pop();
+	public static void popGenerator(){
+		Generators g = generators();
+		synchronized (g) {
+			if (g.stack.size() == 1) {
+				Game.reportException( new RuntimeException("tried to pop the last random number generator!"));
+			} else {
+				g.stack.pop();
+			}
 		}
 	}
 
 	//returns a uniformly distributed float in the range [0, 1)
-	public static synchronized float Float() {
-		return generators.peek().nextFloat();
+	public static float Float() {
+		Generators g = generators();
+		synchronized (g) {
+			return g.stack.peek().nextFloat();
+		}
 	}
 
 	//returns a uniformly distributed float in the range [0, max)
@@ -94,8 +146,12 @@ public class Random {
 	}
 
 	//returns a uniformly distributed int in the range [0, max)
-	public static synchronized int Int( int max ) {
-		return max > 0 ? generators.peek().nextInt(max) : 0;
+	public static int Int( int max ) {
+		if (max <= 0) return 0;
+		Generators g = generators();
+		synchronized (g) {
+			return g.stack.peek().nextInt(max);
+		}
 	}
 
 	//returns a uniformly distributed int in the range [min, max)
@@ -114,8 +170,11 @@ public class Random {
 	}
 
 	//returns a uniformly distributed long in the range [-2^63, 2^63)
-	public static synchronized long Long() {
-		return generators.peek().nextLong();
+	public static long Long() {
+		Generators g = generators();
+		synchronized (g) {
+			return g.stack.peek().nextLong();
+		}
 	}
 
 	//returns a uniformly distributed long in the range [0, max)
@@ -203,8 +262,11 @@ public class Random {
 			null;
 	}
 
-	public synchronized static<T> void shuffle( List<?extends T> list){
-		Collections.shuffle(list, generators.peek());
+	public static<T> void shuffle( List<?extends T> list){
+		Generators g = generators();
+		synchronized (g) {
+			Collections.shuffle(list, g.stack.peek());
+		}
 	}
 	
 	public static<T> void shuffle( T[] array ) {
@@ -0,0 +1,94 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2022 Evan Debenham
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+package com.watabou.utils
+
+import com.badlogic.gdx.Gdx
+import java.util.Locale
+
+/**
+ * Logs how long each phase of startup takes, up to the first frame being shown.
+ *
+ * Phases can be logged before the libGDX application exists, those lines are held back until it does.
+ */
+object StartupLog {
+
+    private const val TAG = "STARTUP"
+
+    private val launch = System.nanoTime()
+    private var last = launch
+    private val pending = ArrayList<String>()
+
+    /**
+     * Whether the first frame has been shown, after which nothing more is logged.
+     */
+    @JvmStatic
+    var finished = false
+        private set
+
+    /**
+     * Logs the time since the previous phase ended, or since launch.
+     * @param name what was done during the phase
+     */
+    @JvmStatic
+    @Synchronized
+    fun phase(name: String) {
+        if (finished) return
+        val now = System.nanoTime()
+        log(String.format(Locale.ENGLISH, "%s: %dms (%dms since launch)",
+            name, (now - last) / 1_000_000, (now - launch) / 1_000_000))
+        last = now
+    }
+
+    /**
+     * Logs work which was done in the background, alongside the other phases. This is logged even after [finished].
+     * @param name what was done
+     * @param startNanos [System.nanoTime] when the work began
+     */
+    @JvmStatic
+    @Synchronized
+    fun background(name: String, startNanos: Long) {
+        val now = System.nanoTime()
+        log(String.format(Locale.ENGLISH, "%s (background): %dms (%dms since launch)",
+            name, (now - startNanos) / 1_000_000, (now - launch) / 1_000_000))
+    }
+
+    /**
+     * Logs the final phase, once the first frame has been shown.
+     * @param name what was done during the phase
+     */
+    @JvmStatic
+    @Synchronized
+    fun finish(name: String) {
+        phase(name)
+        finished = true
+    }
+
+    private fun log(line: String) {
+        val app = Gdx.app
+        if (app == null) {
+            pending += line
+            return
+        }
+        pending.forEach { app.log(TAG, it) }
+        pending.clear()
+        app.log(TAG, line)
+    }
+}
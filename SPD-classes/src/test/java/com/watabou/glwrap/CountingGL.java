@@ -0,0 +1,105 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2022 Evan Debenham
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package com.watabou.glwrap;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.graphics.GL20;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+//a GL20 which does nothing but count its calls, so rendering code can be tested without a GPU
+public class CountingGL implements InvocationHandler {
+
+	private static CountingGL instance;
+
+	private final HashMap<String, Integer> calls = new HashMap<>();
+	private int nextHandle = 1;
+
+	//the texture bound when each draw call since the last reset was made
+	private final ArrayList<Integer> drawTextures = new ArrayList<>();
+	private int boundTexture;
+
+	//starts a headless app (for natives and Gdx.files) and installs the counting GL, once per test run
+	public static synchronized CountingGL install(){
+		if (instance == null){
+			new HeadlessApplication(new ApplicationAdapter() {}, new HeadlessApplicationConfiguration());
+			while (Gdx.files == null){
+				Thread.yield();
+			}
+
+			instance = new CountingGL();
+			Gdx.gl = Gdx.gl20 = (GL20) Proxy.newProxyInstance(
+					GL20.class.getClassLoader(), new Class[]{GL20.class}, instance);
+		}
+		instance.reset();
+		return instance;
+	}
+
+	public synchronized int count( String method ){
+		Integer count = calls.get(method);
+		return count == null ? 0 : count;
+	}
+
+	public synchronized List<Integer> drawTextures(){
+		return new ArrayList<>(drawTextures);
+	}
+
+	public synchronized void reset(){
+		calls.clear();
+		drawTextures.clear();
+	}
+
+	@Override
+	public synchronized Object invoke( Object proxy, Method method, Object[] args ) {
+		String name = method.getName();
+		Integer count = calls.get(name);
+		calls.put(name, count == null ? 1 : count + 1);
+
+		if (name.equals("glBindTexture")){
+			boundTexture = (Integer)args[1];
+		} else if (name.equals("glDrawElements") || name.equals("glDrawArrays")){
+			drawTextures.add(boundTexture);
+		}
+
+		//shaders always compile and link
+		if (name.equals("glGetShaderiv") || name.equals("glGetProgramiv")){
+			((IntBuffer)args[2]).put(0, GL20.GL_TRUE);
+			return null;
+		}
+
+		Class<?> type = method.getReturnType();
+		if (type == int.class)      return nextHandle++;
+		if (type == boolean.class)  return false;
+		if (type == float.class)    return 0f;
+		if (type == String.class)   return "";
+		return null;
+	}
+}
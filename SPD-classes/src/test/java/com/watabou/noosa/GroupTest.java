@@ -0,0 +1,219 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2022 Evan Debenham
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package com.watabou.noosa;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class GroupTest {
+
+	private static void setRenderThread( Thread thread ) throws Exception {
+		Field field = Game.class.getDeclaredField("renderThread");
+		field.setAccessible(true);
+		field.set(null, thread);
+	}
+
+	//makes the test thread the render thread, so changes from other threads are queued
+	@Before
+	public void setUp() throws Exception {
+		setRenderThread(Thread.currentThread());
+		Group.applyPendingChanges();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		Group.applyPendingChanges();
+		setRenderThread(null);
+	}
+
+	public static class Dot extends Gizmo {}
+
+	@Test
+	public void removalKeepsOrder(){
+		Group group = new Group();
+		Gizmo[] all = new Gizmo[100];
+		for (int i = 0; i < all.length; i++){
+			all[i] = new Gizmo();
+			group.add(all[i]);
+		}
+		//enough removals to leave tombstones and trigger compaction
+		for (int i = 0; i < all.length; i += 2){
+			assertSame(all[i], group.remove(all[i]));
+		}
+		assertNull(group.remove(all[0]));
+
+		assertEquals(50, group.getChildren().size());
+		for (int i = 0; i < 50; i++){
+			assertSame(all[i*2 + 1], group.getChildren().get(i));
+		}
+	}
+
+	@Test
+	public void frontAndBack(){
+		Group group = new Group();
+		Gizmo a = new Gizmo(), b = new Gizmo(), c = new Gizmo();
+		group.add(a);
+		group.add(b);
+		group.add(c);
+
+		group.bringToFront(a);
+		assertSame(a, group.getChildren().get(2));
+		group.sendToBack(c);
+		assertSame(c, group.getChildren().get(0));
+		assertSame(b, group.getChildren().get(1));
+		assertEquals(3, group.getChildren().size());
+	}
+
+	@Test
+	public void recycleReusesDeadChildren(){
+		Group group = new Group();
+		Dot dot = group.recycle(Dot.class);
+		assertSame(group, dot.getParent());
+
+		//a living child isn't available
+		assertTrue(group.recycle(Dot.class) != dot);
+
+		dot.kill();
+		assertSame(dot, group.recycle(Dot.class));
+		//taken from the free list, so it isn't handed out twice
+		assertNull(group.firstAvailableOrNull(Dot.class));
+	}
+
+	@Test
+	public void freeListSkipsRevivedAndMovedChildren(){
+		Group group = new Group();
+		Group other = new Group();
+		Dot revived = group.recycle(Dot.class);
+		Dot moved = group.recycle(Dot.class);
+
+		revived.kill();
+		moved.kill();
+		revived.revive();
+		other.add(moved);
+
+		assertNull(group.firstAvailableOrNull(Dot.class));
+	}
+
+	private static void offThread( Runnable r ) throws InterruptedException {
+		Thread t = new Thread(r);
+		t.start();
+		t.join();
+	}
+
+	@Test
+	public void offThreadAddSetsParentRightAway() throws Exception {
+		Group group = new Group();
+		Gizmo child = new Gizmo();
+
+		offThread(() -> group.add(child));
+		assertSame(group, child.getParent());
+		assertTrue(group.getChildren().isEmpty());
+
+		Group.applyPendingChanges();
+		assertEquals(1, group.getChildren().size());
+		assertSame(child, group.getChildren().get(0));
+	}
+
+	@Test
+	public void offThreadRemoveDetachesRightAway() throws Exception {
+		Group group = new Group();
+		Gizmo child = new Gizmo();
+		group.add(child);
+
+		Gizmo[] removed = new Gizmo[1];
+		offThread(() -> removed[0] = group.remove(child));
+		assertSame(child, removed[0]);
+		assertNull(child.getParent());
+		//still drawn until the next frame
+		assertEquals(1, group.getChildren().size());
+
+		Group.applyPendingChanges();
+		assertTrue(group.getChildren().isEmpty());
+	}
+
+	@Test
+	public void offThreadMoveBetweenGroups() throws Exception {
+		Group from = new Group();
+		Group to = new Group();
+		Gizmo child = new Gizmo();
+		from.add(child);
+
+		offThread(() -> to.add(child));
+		assertSame(to, child.getParent());
+
+		Group.applyPendingChanges();
+		assertTrue(from.getChildren().isEmpty());
+		assertEquals(1, to.getChildren().size());
+	}
+
+	@Test
+	public void renderThreadMoveOvertakesQueuedAdd() throws Exception {
+		Group queued = new Group();
+		Group direct = new Group();
+		Gizmo child = new Gizmo();
+
+		offThread(() -> queued.add(child));
+		direct.add(child);
+		Group.applyPendingChanges();
+
+		assertSame(direct, child.getParent());
+		assertTrue(queued.getChildren().isEmpty());
+		assertEquals(1, direct.getChildren().size());
+	}
+
+	@Test
+	public void clearDropsQueuedAdds() throws Exception {
+		Group group = new Group();
+		Gizmo child = new Gizmo();
+
+		offThread(() -> group.add(child));
+		group.clear();
+		Group.applyPendingChanges();
+
+		assertNull(child.getParent());
+		assertTrue(group.getChildren().isEmpty());
+	}
+
+	@Test
+	public void offThreadReaddKeepsChild() throws Exception {
+		Group group = new Group();
+		Gizmo child = new Gizmo();
+		group.add(child);
+
+		offThread(() -> {
+			group.remove(child);
+			group.add(child);
+		});
+		Group.applyPendingChanges();
+
+		assertSame(group, child.getParent());
+		assertEquals(1, group.getChildren().size());
+	}
+}
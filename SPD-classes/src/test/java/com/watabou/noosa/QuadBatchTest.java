@@ -0,0 +1,141 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2022 Evan Debenham
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package com.watabou.noosa;
+
+import com.badlogic.gdx.graphics.Pixmap;
+import com.watabou.glwrap.CountingGL;
+import com.watabou.glwrap.Texture;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class QuadBatchTest {
+
+	private CountingGL gl;
+	private Camera camera;
+
+	@Before
+	public void setUp(){
+		gl = CountingGL.install();
+		QuadBatch.reset();
+		QuadBatch.enabled = true;
+
+		camera = new Camera(0, 0, 100, 100, 1);
+		//a full screen camera skips scissoring, which needs a real screen size
+		camera.fullScreen = true;
+	}
+
+	@After
+	public void tearDown(){
+		QuadBatch.enabled = true;
+	}
+
+	private Image[] images( int count, Texture... textures ){
+		Image[] result = new Image[count];
+		for (int i = 0; i < count; i++){
+			result[i] = new Image(textures[i % textures.length]);
+			result[i].setCamera(camera);
+			result[i].x = i;
+		}
+		return result;
+	}
+
+	private int drawCalls( Image[] images ){
+		gl.reset();
+		for (Image image : images){
+			image.draw();
+		}
+		QuadBatch.flush();
+		return gl.count("glDrawElements");
+	}
+
+	@Test
+	public void sharedTextureIsOneDrawCall(){
+		Texture tx = new Texture(new Pixmap(4, 4, Pixmap.Format.RGBA8888));
+		assertEquals(1, drawCalls(images(50, tx)));
+	}
+
+	@Test
+	public void everyImageDrawsAloneWithoutBatching(){
+		Texture tx = new Texture(new Pixmap(4, 4, Pixmap.Format.RGBA8888));
+		QuadBatch.enabled = false;
+		assertEquals(50, drawCalls(images(50, tx)));
+	}
+
+	@Test
+	public void textureChangesSplitBatches(){
+		Texture a = new Texture(new Pixmap(4, 4, Pixmap.Format.RGBA8888));
+		Texture b = new Texture(new Pixmap(4, 4, Pixmap.Format.RGBA8888));
+		//alternating textures can't merge, grouped textures can
+		assertEquals(50, drawCalls(images(50, a, b)));
+
+		Image[] grouped = new Image[50];
+		System.arraycopy(images(25, a), 0, grouped, 0, 25);
+		System.arraycopy(images(25, b), 0, grouped, 25, 25);
+		assertEquals(2, drawCalls(grouped));
+	}
+
+	@Test
+	public void tintSplitsBatches(){
+		Texture tx = new Texture(new Pixmap(4, 4, Pixmap.Format.RGBA8888));
+		Image[] images = images(10, tx);
+		images[5].hardlight(0xFF0000);
+		//before, the tinted image, and after
+		assertEquals(3, drawCalls(images));
+	}
+
+	@Test
+	public void optedOutImagesDrawAlone(){
+		Texture tx = new Texture(new Pixmap(4, 4, Pixmap.Format.RGBA8888));
+		Image[] images = images(10, tx);
+		images[3].batchable = false;
+		images[4].batchable = false;
+		//before, the two opted out images, and after
+		assertEquals(4, drawCalls(images));
+	}
+
+	@Test
+	public void flushesRotateBuffers(){
+		Texture a = new Texture(new Pixmap(4, 4, Pixmap.Format.RGBA8888));
+		Texture b = new Texture(new Pixmap(4, 4, Pixmap.Format.RGBA8888));
+		//creates any shared GL objects, and the first of the batch's buffers
+		drawCalls(images(1, a));
+
+		gl.reset();
+		for (Image image : images(10, a, b)){
+			image.draw();
+		}
+		QuadBatch.flush();
+		//every flush went to the next buffer, the remaining three are created once each
+		assertEquals(3, gl.count("glGenBuffer"));
+		assertEquals(7, gl.count("glBufferSubData"));
+	}
+
+	@Test
+	public void batchesAreCappedInSize(){
+		Texture tx = new Texture(new Pixmap(4, 4, Pixmap.Format.RGBA8888));
+		assertEquals(3, drawCalls(images(2500, tx)));
+	}
+}
@@ -0,0 +1,95 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2022 Evan Debenham
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package com.watabou.noosa.particles;
+
+import com.badlogic.gdx.graphics.Pixmap;
+import com.watabou.glwrap.CountingGL;
+import com.watabou.glwrap.Texture;
+import com.watabou.noosa.Camera;
+import com.watabou.noosa.Image;
+import com.watabou.noosa.QuadBatch;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class PixelParticlesTest {
+
+	private CountingGL gl;
+	private Camera camera;
+	private Image image;
+
+	@Before
+	public void setUp(){
+		gl = CountingGL.install();
+		QuadBatch.reset();
+		QuadBatch.enabled = true;
+
+		camera = new Camera(0, 0, 100, 100, 1);
+		//a full screen camera skips scissoring, which needs a real screen size
+		camera.fullScreen = true;
+
+		image = new Image(new Texture(new Pixmap(4, 4, Pixmap.Format.RGBA8888)));
+		image.setCamera(camera);
+	}
+
+	private PixelParticles particles( int count ){
+		PixelParticles particles = new PixelParticles();
+		for (int i = 0; i < count; i++){
+			particles.add(i % 100, i / 100, 0xFF8000, 1, 1);
+		}
+		return particles;
+	}
+
+	@Test
+	public void drawnAfterBatchedImagesBindsColours(){
+		PixelParticles particles = particles(10);
+
+		gl.reset();
+		//the first particle draw uploads its colours, the second was already uploaded this frame
+		image.draw();
+		particles.draw(camera);
+		image.draw();
+		particles.draw(camera);
+		QuadBatch.flush();
+
+		List<Integer> textures = gl.drawTextures();
+		assertEquals(4, textures.size());
+		assertEquals(textures.get(0), textures.get(2));
+		assertEquals(textures.get(1), textures.get(3));
+		assertNotEquals(textures.get(0), textures.get(1));
+	}
+
+	@Test
+	public void emittersPastTheColourTextureDrawInPasses(){
+		//the colour texture holds 128x64 particles
+		PixelParticles particles = particles(128*64 + 10);
+
+		gl.reset();
+		particles.draw(camera);
+		assertEquals(2, gl.count("glDrawElements"));
+	}
+}
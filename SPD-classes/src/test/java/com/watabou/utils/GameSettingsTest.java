@@ -0,0 +1,111 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2022 Evan Debenham
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package com.watabou.utils;
+
+import com.badlogic.gdx.Preferences;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class GameSettingsTest {
+
+	private final HashMap<String, Object> values = new HashMap<>();
+	private final AtomicInteger flushes = new AtomicInteger();
+
+	//in-memory preferences which only count how often they are written out
+	private Preferences memoryPrefs(){
+		return (Preferences) Proxy.newProxyInstance(Preferences.class.getClassLoader(),
+				new Class<?>[]{Preferences.class}, (proxy, method, args) -> {
+			String name = method.getName();
+			synchronized (values) {
+				if (name.equals("flush")) {
+					flushes.incrementAndGet();
+					return null;
+				} else if (name.equals("contains")) {
+					return values.containsKey(args[0]);
+				} else if (name.startsWith("put")) {
+					values.put((String) args[0], args[1]);
+					return proxy;
+				} else if (name.startsWith("get") && args != null && args.length == 2) {
+					return values.containsKey(args[0]) ? values.get(args[0]) : args[1];
+				}
+			}
+			throw new UnsupportedOperationException(name);
+		});
+	}
+
+	@Before
+	public void setUp(){
+		//don't let a flush left over from another test land on these prefs
+		GameSettings.flushNow();
+		GameSettings.set(memoryPrefs());
+	}
+
+	@Test
+	public void putsAreReadableBeforeFlushing(){
+		for (int i = 0; i < 10; i++){
+			GameSettings.put("count", i);
+		}
+		GameSettings.put("name", "warrior");
+
+		assertEquals(9, GameSettings.getInt("count", -1));
+		assertEquals("warrior", GameSettings.getString("name", ""));
+		assertTrue(GameSettings.contains("name"));
+		assertEquals(0, flushes.get());
+	}
+
+	@Test
+	public void flushNowWritesOnlyPendingChanges(){
+		GameSettings.flushNow();
+		assertEquals(0, flushes.get());
+
+		GameSettings.put("quickslots", 4);
+		GameSettings.put("music", false);
+		GameSettings.flushNow();
+		assertEquals(1, flushes.get());
+
+		GameSettings.flushNow();
+		assertEquals(1, flushes.get());
+	}
+
+	@Test
+	public void flushesOnceAfterChangesStop() throws InterruptedException {
+		GameSettings.put("zoom", 1);
+		Thread.sleep(500);
+		GameSettings.put("zoom", 2);
+		Thread.sleep(500);
+		GameSettings.put("zoom", 3);
+		//each change pushes the write back, so nothing has been written yet
+		assertEquals(0, flushes.get());
+
+		Thread.sleep(2000);
+		assertEquals(1, flushes.get());
+		assertEquals(3, GameSettings.getInt("zoom", 0));
+	}
+}
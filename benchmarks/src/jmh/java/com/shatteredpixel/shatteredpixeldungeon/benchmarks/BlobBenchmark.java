@@ -0,0 +1,92 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2022 Evan Debenham
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package com.shatteredpixel.shatteredpixeldungeon.benchmarks;
+
+import com.shatteredpixel.shatteredpixeldungeon.actors.blobs.Blob;
+import com.shatteredpixel.shatteredpixeldungeon.actors.blobs.SmokeScreen;
+import com.shatteredpixel.shatteredpixeldungeon.actors.blobs.ToxicGas;
+import com.shatteredpixel.shatteredpixeldungeon.actors.blobs.Web;
+import com.shatteredpixel.shatteredpixeldungeon.levels.Level;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+//one blob turn, covering the plain spreading gas, gas that checks for chars, and a blob with its own evolve
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BlobBenchmark {
+
+	@Param({"smoke", "toxic", "web"})
+	public String type;
+
+	@Param({"100", "1000"})
+	public int amount;
+
+	private Class<? extends Blob> blobClass;
+	private Level level;
+	private int[] cells;
+	private Blob blob;
+
+	@Setup
+	public void setup(){
+		switch (type){
+			case "smoke": default:
+				blobClass = SmokeScreen.class;
+				break;
+			case "toxic":
+				blobClass = ToxicGas.class;
+				break;
+			case "web":
+				blobClass = Web.class;
+				break;
+		}
+		level = Fixtures.level(12);
+		cells = Fixtures.passableCells(level, 4);
+		reseed();
+	}
+
+	private void reseed(){
+		for (int cell : cells){
+			blob = Blob.seed(cell, amount, blobClass, level);
+		}
+	}
+
+	@Benchmark
+	public Blob evolve(){
+		//gasses thin out as they spread, top them back up so every iteration works on a similar area
+		if (blob.volume < amount){
+			reseed();
+		}
+		blob.act();
+		return blob;
+	}
+
+}
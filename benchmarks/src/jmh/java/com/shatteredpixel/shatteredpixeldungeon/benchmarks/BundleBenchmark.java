@@ -0,0 +1,79 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2022 Evan Debenham
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package com.shatteredpixel.shatteredpixeldungeon.benchmarks;
+
+import com.shatteredpixel.shatteredpixeldungeon.levels.Level;
+import com.watabou.utils.Bundlable;
+import com.watabou.utils.Bundle;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+
+//saving and loading a full level, the largest bundle the game writes
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BundleBenchmark {
+
+	private static final String LEVEL = "level";
+
+	@Param({"true", "false"})
+	public boolean compressed;
+
+	private Level level;
+	private byte[] saved;
+
+	@Setup
+	public void setup(){
+		level = Fixtures.level(12);
+		saved = write();
+	}
+
+	private byte[] write(){
+		Bundle bundle = new Bundle();
+		bundle.put(LEVEL, level);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		bundle.toStream(out, compressed);
+		return out.toByteArray();
+	}
+
+	@Benchmark
+	public byte[] store(){
+		return write();
+	}
+
+	@Benchmark
+	public Bundlable restore(){
+		return Bundle.read(new ByteArrayInputStream(saved)).get(LEVEL);
+	}
+
+}
@@ -0,0 +1,90 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2022 Evan Debenham
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package com.shatteredpixel.shatteredpixeldungeon.benchmarks;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.shatteredpixel.shatteredpixeldungeon.Dungeon;
+import com.shatteredpixel.shatteredpixeldungeon.GamesInProgress;
+import com.shatteredpixel.shatteredpixeldungeon.actors.hero.HeroClass;
+import com.shatteredpixel.shatteredpixeldungeon.levels.Level;
+import com.watabou.utils.PathFinder;
+
+//shared setup for benchmarks, levels are generated from a fixed seed so every run measures the same maps
+public class Fixtures {
+
+	public static final long SEED = 1234567L;
+
+	private static boolean initialized = false;
+
+	public static synchronized void init(){
+		if (initialized) return;
+
+		//a headless backend gives us Gdx.files and preferences, which settings and messages rely on
+		new HeadlessApplication(new ApplicationAdapter() {}, new HeadlessApplicationConfiguration());
+		while (Gdx.files == null){
+			Thread.yield();
+		}
+
+		GamesInProgress.selectedClass = HeroClass.WARRIOR;
+		initialized = true;
+	}
+
+	//generates the level for the given depth, identical for every call with the same depth
+	public static Level level( int depth ){
+		init();
+
+		Dungeon.init();
+		Dungeon.seed = SEED;
+		Dungeon.depth = depth;
+		Dungeon.branch = 0;
+
+		Level level = Dungeon.newLevel();
+		Dungeon.level = level;
+		PathFinder.setMapSize(level.width(), level.height());
+		return level;
+	}
+
+	//a fixed set of passable cells to use as path or ray endpoints
+	public static int[] passableCells( Level level, int count ){
+		int[] result = new int[count];
+		int found = 0;
+		//fixed stride so endpoints are spread across the map rather than clustered at the top
+		int stride = 7;
+		for (int start = 0; start < stride && found < count; start++){
+			for (int i = start; i < level.length() && found < count; i += stride){
+				if (level.passable[i]){
+					result[found++] = i;
+				}
+			}
+		}
+		if (found < count){
+			int[] trimmed = new int[found];
+			System.arraycopy(result, 0, trimmed, 0, found);
+			return trimmed;
+		}
+		return result;
+	}
+
+}
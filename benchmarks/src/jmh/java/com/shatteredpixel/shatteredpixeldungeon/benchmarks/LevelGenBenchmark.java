@@ -0,0 +1,82 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2022 Evan Debenham
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package com.shatteredpixel.shatteredpixeldungeon.benchmarks;
+
+import com.shatteredpixel.shatteredpixeldungeon.Dungeon;
+import com.shatteredpixel.shatteredpixeldungeon.levels.Level;
+import com.shatteredpixel.shatteredpixeldungeon.levels.Patch;
+import com.watabou.utils.Random;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+//level generation: terrain patches, full level creation (room placement and painting), and terrain flag maps
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LevelGenBenchmark {
+
+	@Param({"2", "12", "22"})
+	public int depth;
+
+	private Level level;
+
+	@Setup
+	public void setup(){
+		level = Fixtures.level(depth);
+		Random.pushGenerator(Fixtures.SEED);
+	}
+
+	@TearDown
+	public void tearDown(){
+		Random.popGenerator();
+	}
+
+	@Benchmark
+	public boolean[] patch(){
+		return Patch.generate(level.width(), level.height(), 0.5f, 3, true);
+	}
+
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	public Level create(){
+		//Level.create seeds itself from the dungeon seed and depth, so this is the same layout each time
+		Dungeon.depth = depth;
+		return Dungeon.newLevel();
+	}
+
+	@Benchmark
+	public Level buildFlagMaps(){
+		level.buildFlagMaps();
+		return level;
+	}
+
+}
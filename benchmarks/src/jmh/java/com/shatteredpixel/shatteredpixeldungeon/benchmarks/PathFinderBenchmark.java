@@ -0,0 +1,91 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2022 Evan Debenham
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package com.shatteredpixel.shatteredpixeldungeon.benchmarks;
+
+import com.shatteredpixel.shatteredpixeldungeon.levels.Level;
+import com.watabou.utils.PathFinder;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PathFinderBenchmark {
+
+	@Param({"2", "12", "22"})
+	public int depth;
+
+	private Level level;
+	private int[] cells;
+	private int next;
+
+	@Setup
+	public void setup(){
+		level = Fixtures.level(depth);
+		cells = Fixtures.passableCells(level, 64);
+	}
+
+	//pairs cells from opposite ends of the list, so most paths cross a good part of the map
+	private int from(){
+		next = (next + 1) % cells.length;
+		return cells[next];
+	}
+
+	private int to(){
+		return cells[cells.length - 1 - next];
+	}
+
+	@Benchmark
+	public PathFinder.Path find(){
+		int from = from();
+		return PathFinder.find(from, to(), level.passable);
+	}
+
+	@Benchmark
+	public int getStep(){
+		int from = from();
+		return PathFinder.getStep(from, to(), level.passable);
+	}
+
+	@Benchmark
+	public void buildDistanceMap( Blackhole bh ){
+		PathFinder.buildDistanceMap(from(), level.passable);
+		bh.consume(PathFinder.distance);
+	}
+
+	@Benchmark
+	public void buildDistanceMapLimited( Blackhole bh ){
+		PathFinder.buildDistanceMap(from(), level.passable, 8);
+		bh.consume(PathFinder.distance);
+	}
+
+}
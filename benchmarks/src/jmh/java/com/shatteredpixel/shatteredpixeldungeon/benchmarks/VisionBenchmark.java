@@ -0,0 +1,89 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2022 Evan Debenham
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package com.shatteredpixel.shatteredpixeldungeon.benchmarks;
+
+import com.shatteredpixel.shatteredpixeldungeon.levels.Level;
+import com.shatteredpixel.shatteredpixeldungeon.mechanics.Ballistica;
+import com.shatteredpixel.shatteredpixeldungeon.mechanics.ConeAOE;
+import com.shatteredpixel.shatteredpixeldungeon.mechanics.ShadowCaster;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+//field of view and projectile tracing
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class VisionBenchmark {
+
+	@Param({"2", "12", "22"})
+	public int depth;
+
+	@Param({"4", "8"})
+	public int distance;
+
+	private Level level;
+	private int[] cells;
+	private boolean[] fov;
+	private int next;
+
+	@Setup
+	public void setup(){
+		level = Fixtures.level(depth);
+		cells = Fixtures.passableCells(level, 64);
+		fov = new boolean[level.length()];
+	}
+
+	private int cell(){
+		next = (next + 1) % cells.length;
+		return cells[next];
+	}
+
+	@Benchmark
+	public boolean[] castShadow(){
+		int cell = cell();
+		ShadowCaster.castShadow(cell % level.width(), cell / level.width(), fov, level.losBlocking, distance);
+		return fov;
+	}
+
+	@Benchmark
+	public Ballistica ballistica(){
+		int from = cell();
+		return new Ballistica(from, cells[cells.length - 1 - next], Ballistica.PROJECTILE);
+	}
+
+	@Benchmark
+	public ConeAOE cone(){
+		int from = cell();
+		Ballistica aim = new Ballistica(from, cells[cells.length - 1 - next], Ballistica.WONT_STOP);
+		return new ConeAOE(aim, distance, 90, Ballistica.STOP_TARGET | Ballistica.STOP_SOLID);
+	}
+
+}
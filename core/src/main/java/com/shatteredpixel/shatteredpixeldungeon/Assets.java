@@ -296,5 +296,14 @@ public class Assets {
 		public static final String NINJA_LOG= "sprites/ninja_log.png";
 		public static final String SPIRIT_HAWK= "sprites/spirit_hawk.png";
 		public static final String RED_SENTRY= "sprites/red_sentry.png";
+
+		public static final String[] all = new String[]{
+				ITEMS, ITEM_ICONS, WARRIOR, MAGE, ROGUE, HUNTRESS, AVATARS, PET, AMULET, RAT, BRUTE, SPINNER,
+				DM300, WRAITH, UNDEAD, KING, PIRANHA, EYE, GNOLL, CRAB, GOO, SWARM, SKELETON, SHAMAN, THIEF,
+				TENGU, SHEEP, KEEPER, BAT, ELEMENTAL, MONK, WARLOCK, GOLEM, STATUE, SUCCUBUS, SCORPIO, FISTS,
+				YOG, LARVA, GHOST, MAKER, TROLL, IMP, RATKING, BEE, MIMIC, ROT_LASH, ROT_HEART, GUARD, WARDS,
+				GUARDIAN, SLIME, SNAKE, NECRO, GHOUL, RIPPER, SPAWNER, DM100, PYLON, DM200, LOTUS, NINJA_LOG,
+				SPIRIT_HAWK, RED_SENTRY
+		};
 	}
 }
@@ -592,6 +592,7 @@ public class Dungeon {
 			bundle.put( BADGES, badges );
 			
 			FileUtilsKt.toFile(bundle, GamesInProgress.gameFile(save));
+			GamesInProgress.storePreview( save, bundle );
 			
 		} catch (IOException e) {
 			GamesInProgress.setUnknown( save );
@@ -763,6 +764,7 @@ public class Dungeon {
 		}
 
 		FileUtilsKt.overwriteFile(GamesInProgress.gameFile(save), 1);
+		FileUtilsKt.deleteFile(GamesInProgress.previewFile(save));
 		
 		GamesInProgress.delete( save );
 	}
@@ -820,6 +822,8 @@ public class Dungeon {
 		if (level == null) {
 			return;
 		}
+
+		level.flushFlagChanges();
 		
 		level.updateFieldOfView(hero, level.heroFOV);
 
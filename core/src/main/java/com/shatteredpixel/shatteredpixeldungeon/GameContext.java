@@ -0,0 +1,89 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2022 Evan Debenham
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package com.shatteredpixel.shatteredpixeldungeon;
+
+import com.shatteredpixel.shatteredpixeldungeon.actors.Actor;
+import com.watabou.utils.Random;
+
+//Owns the state of one running game, so that independent runs can execute in parallel threads of one process.
+//The shipped game only ever uses the default context, which is shared by its render and actor threads.
+//Other runs create their own context and bind it to the thread running them.
+//Only actor scheduling (Actor) and random number generation (Random) are isolated.
+//Everything else is still shared by the whole process, including Dungeon's hero, level and depth,
+//Statistics, Generator, Badges, Notes and PathFinder. Parallel runs must not use any of that,
+//otherwise they corrupt each other.
+public class GameContext {
+
+	private static final GameContext DEFAULT = new GameContext( null );
+
+	private static final ThreadLocal<GameContext> bound = new ThreadLocal<>();
+
+	public final Actor.State actors = new Actor.State();
+
+	//null for the default context, which uses the shared generators
+	private final Random.Generators generators;
+
+	private GameContext( Random.Generators generators ){
+		this.generators = generators;
+	}
+
+	//creates a context for an independent run, which has its own actors and random number generators
+	public static GameContext create(){
+		return new GameContext( new Random.Generators() );
+	}
+
+	public static GameContext current(){
+		GameContext context = bound.get();
+		return context != null ? context : DEFAULT;
+	}
+
+	//makes this the current context of the calling thread
+	public void bind(){
+		if (this == DEFAULT) {
+			unbind();
+			return;
+		}
+		bound.set( this );
+		Random.bindGenerators( generators );
+	}
+
+	//returns the calling thread to the default context
+	public static void unbind(){
+		bound.remove();
+		Random.bindGenerators( null );
+	}
+
+	//runs the given task with this context bound to the calling thread
+	public void run( Runnable task ){
+		GameContext previous = bound.get();
+		bind();
+		try {
+			task.run();
+		} finally {
+			if (previous != null) {
+				previous.bind();
+			} else {
+				unbind();
+			}
+		}
+	}
+}
@@ -50,6 +50,7 @@ public class GamesInProgress {
 	private static final String GAME_FILE	= "game.dat";
 	private static final String DEPTH_FILE	= "depth%d.dat";
 	private static final String DEPTH_BRANCH_FILE	= "depth%d-branch%d.dat";
+	private static final String PREVIEW_FILE	= "preview.dat";
 	
 	public static boolean gameExists( int slot ) {
 		return FileUtilsKt.dirExists(gameFolder(slot))
@@ -64,6 +65,10 @@ public class GamesInProgress {
 		return gameFolder(slot) + "/" + GAME_FILE;
 	}
 	
+	public static String previewFile( int slot ){
+		return gameFolder(slot) + "/" + PREVIEW_FILE;
+	}
+	
 	public static String depthFile( int slot, int depth, int branch ) {
 		if (branch == 0) {
 			return gameFolder(slot) + "/" + Messages.format(DEPTH_FILE, depth);
@@ -102,13 +107,17 @@ public class GamesInProgress {
 			
 		} else {
 			
-			Info info;
+			Info info = loadPreview( slot );
 			try {
 				
-				Bundle bundle = FileUtilsKt.toBundle(gameFile(slot));
-				info = new Info();
-				info.slot = slot;
-				Dungeon.preview(info, bundle);
+				//no usable preview, older saves don't have one
+				if (info == null) {
+					Bundle bundle = FileUtilsKt.toBundle(gameFile(slot));
+					info = new Info();
+					info.slot = slot;
+					Dungeon.preview(info, bundle);
+					storePreview(info);
+				}
 				
 				//saves from before v0.9.3c are not supported
 				if (info.version < ShatteredPixelDungeon.v0_9_3c) {
@@ -128,6 +137,104 @@ public class GamesInProgress {
 		}
 	}
 
+	private static final String DEPTH       = "depth";
+	private static final String VERSION     = "version";
+	private static final String CHALLENGES  = "challenges";
+	private static final String SEED        = "seed";
+	private static final String CUSTOM_SEED = "custom_seed";
+	private static final String DAILY       = "daily";
+	private static final String LEVEL       = "level";
+	private static final String STR         = "str";
+	private static final String EXP         = "exp";
+	private static final String HP          = "hp";
+	private static final String HT          = "ht";
+	private static final String SHLD        = "shld";
+	private static final String CLASS       = "class";
+	private static final String SUBCLASS    = "subclass";
+	private static final String ARMOR_TIER  = "armor_tier";
+	private static final String GOLD        = "gold";
+	private static final String MAX_DEPTH   = "max_depth";
+	private static final String GAME_LENGTH = "game_length";
+
+	//the preview is a small file next to the game file with only what the slot list shows,
+	//so that listing slots doesn't need to parse every game in full.
+	//This is called right after the game file is written, with the bundle that was written.
+	public static void storePreview( int slot, Bundle game ) {
+		Info info = new Info();
+		info.slot = slot;
+		try {
+			Dungeon.preview(info, game);
+		} catch (Exception e) {
+			ShatteredPixelDungeon.reportException(e);
+			FileUtilsKt.deleteFile(previewFile(slot));
+			return;
+		}
+		storePreview(info);
+	}
+
+	private static void storePreview( Info info ) {
+		Bundle bundle = new Bundle();
+		bundle.put( DEPTH, info.depth );
+		bundle.put( VERSION, info.version );
+		bundle.put( CHALLENGES, info.challenges );
+		bundle.put( SEED, info.seed );
+		bundle.put( CUSTOM_SEED, info.customSeed );
+		bundle.put( DAILY, info.daily );
+		bundle.put( LEVEL, info.level );
+		bundle.put( STR, info.str );
+		bundle.put( EXP, info.exp );
+		bundle.put( HP, info.hp );
+		bundle.put( HT, info.ht );
+		bundle.put( SHLD, info.shld );
+		bundle.put( CLASS, info.heroClass );
+		bundle.put( SUBCLASS, info.subClass );
+		bundle.put( ARMOR_TIER, info.armorTier );
+		bundle.put( GOLD, info.goldCollected );
+		bundle.put( MAX_DEPTH, info.maxDepth );
+		//lets us tell if the game file was written without the preview being updated
+		bundle.put( GAME_LENGTH, FileUtilsKt.fileLength(gameFile(info.slot)) );
+		
+		try {
+			FileUtilsKt.toFile(bundle, previewFile(info.slot));
+		} catch (IOException e) {
+			//not a problem, the game file is just parsed in full next time
+			FileUtilsKt.deleteFile(previewFile(info.slot));
+		}
+	}
+
+	private static Info loadPreview( int slot ) {
+		try {
+			if (FileUtilsKt.fileLength(previewFile(slot)) <= 1) return null;
+			
+			Bundle bundle = FileUtilsKt.toBundle(previewFile(slot));
+			if (bundle.getLong( GAME_LENGTH ) != FileUtilsKt.fileLength(gameFile(slot))) return null;
+			
+			Info info = new Info();
+			info.slot = slot;
+			info.depth = bundle.getInt( DEPTH );
+			info.version = bundle.getInt( VERSION );
+			info.challenges = bundle.getInt( CHALLENGES );
+			info.seed = bundle.getLong( SEED );
+			info.customSeed = bundle.getString( CUSTOM_SEED );
+			info.daily = bundle.getBoolean( DAILY );
+			info.level = bundle.getInt( LEVEL );
+			info.str = bundle.getInt( STR );
+			info.exp = bundle.getInt( EXP );
+			info.hp = bundle.getInt( HP );
+			info.ht = bundle.getInt( HT );
+			info.shld = bundle.getInt( SHLD );
+			info.heroClass = bundle.getEnum( CLASS, HeroClass.class );
+			info.subClass = bundle.getEnum( SUBCLASS, HeroSubClass.class );
+			info.armorTier = bundle.getInt( ARMOR_TIER );
+			info.goldCollected = bundle.getInt( GOLD );
+			info.maxDepth = bundle.getInt( MAX_DEPTH );
+			return info;
+		} catch (Exception e) {
+			//missing, outdated or corrupt, the game file will be used instead
+			return null;
+		}
+	}
+
 	public static void set(int slot, int depth, int challenges, long seed, String customSeed, boolean daily,
 	                       Hero hero) {
 		Info info = new Info();
@@ -24,9 +24,11 @@ package com.shatteredpixel.shatteredpixeldungeon;
 import com.shatteredpixel.shatteredpixeldungeon.messages.Languages;
 import com.shatteredpixel.shatteredpixeldungeon.scenes.GameScene;
 import com.shatteredpixel.shatteredpixeldungeon.scenes.PixelScene;
+import com.watabou.noosa.FrameProfiler;
 import com.watabou.noosa.Game;
 import com.watabou.noosa.audio.MusicPlayer;
 import com.watabou.noosa.audio.Sample;
+import com.watabou.noosa.graph.GizmoInspector;
 import com.watabou.utils.DeviceCompat;
 import com.watabou.utils.GameSettings;
 import com.watabou.utils.Point;
@@ -43,6 +45,8 @@ public class SPDSettings extends GameSettings {
 	
 	public static void version( int value)  {
 		put( KEY_VERSION, value );
+		//save data may have just been updated for this version, don't let a crash undo that
+		flushNow();
 	}
 	
 	public static int version() {
@@ -411,4 +415,39 @@ public class SPDSettings extends GameSettings {
 		return getBoolean( KEY_WINDOW_MAXIMIZED, false );
 	}
 
+	//Debugging (debug builds only)
+
+	public static final String KEY_PROFILE_ACTORS = "profile_actors";
+
+	public static void profileActors( boolean value ){
+		put( KEY_PROFILE_ACTORS, value );
+	}
+
+	public static boolean profileActors(){
+		return DeviceCompat.isDebug() && getBoolean( KEY_PROFILE_ACTORS, false );
+	}
+
+	public static final String KEY_PROFILE_FRAMES = "profile_frames";
+
+	public static void profileFrames( boolean value ){
+		put( KEY_PROFILE_FRAMES, value );
+		FrameProfiler.on = profileFrames();
+	}
+
+	public static boolean profileFrames(){
+		return DeviceCompat.isDebug() && getBoolean( KEY_PROFILE_FRAMES, false );
+	}
+
+	public static final String KEY_INSPECT_GIZMOS = "inspect_gizmos";
+
+	public static void inspectGizmos( boolean value ){
+		put( KEY_INSPECT_GIZMOS, value );
+		if (inspectGizmos())    GizmoInspector.enable();
+		else                    GizmoInspector.disable();
+	}
+
+	public static boolean inspectGizmos(){
+		return DeviceCompat.isDebug() && getBoolean( KEY_INSPECT_GIZMOS, false );
+	}
+
 }
@@ -21,16 +21,25 @@
 
 package com.shatteredpixel.shatteredpixeldungeon;
 
+import com.shatteredpixel.shatteredpixeldungeon.messages.Messages;
 import com.shatteredpixel.shatteredpixeldungeon.scenes.GameScene;
 import com.shatteredpixel.shatteredpixeldungeon.scenes.PixelScene;
 import com.shatteredpixel.shatteredpixeldungeon.scenes.TitleScene;
 import com.shatteredpixel.shatteredpixeldungeon.scenes.WelcomeScene;
+import com.watabou.glwrap.TextureAtlas;
+import com.watabou.noosa.FrameProfiler;
 import com.watabou.noosa.Game;
 import com.watabou.noosa.audio.MusicPlayer;
 import com.watabou.noosa.audio.Sample;
+import com.watabou.noosa.graph.GizmoInspector;
 import com.watabou.utils.Bundle;
 import com.watabou.utils.DeviceCompat;
 import com.watabou.utils.PlatformSupport;
+import com.watabou.utils.StartupLog;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 
 public class ShatteredPixelDungeon extends Game {
 
@@ -43,6 +52,13 @@ public class ShatteredPixelDungeon extends Game {
 	public ShatteredPixelDungeon( PlatformSupport platform ) {
 		super( sceneClass == null ? WelcomeScene.class : sceneClass, platform );
 
+		StartupLog.phase("game construction");
+
+		//aliases are only needed once saves are read, no need to load all of these classes before then
+		Bundle.addAliases(ShatteredPixelDungeon::addAliases);
+	}
+
+	private static void addAliases(){
 		//pre-v1.3.0
 		Bundle.addAlias(
 				com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Bleeding.class,
@@ -97,23 +113,50 @@ public class ShatteredPixelDungeon extends Game {
 		Bundle.addAlias(
 				com.shatteredpixel.shatteredpixeldungeon.items.stones.StoneOfDeepSleep.class,
 				"com.shatteredpixel.shatteredpixeldungeon.items.stones.StoneOfDeepenedSleep" );
-		
 	}
 	
 	@Override
 	public void create() {
 		super.create();
+		StartupLog.phase("graphics and input setup");
 
 		updateSystemUI();
 		SPDAction.loadBindings();
+		StartupLog.phase("settings and key bindings");
 		
 		MusicPlayer.INSTANCE.enable( SPDSettings.music() );
 		MusicPlayer.INSTANCE.volume( SPDSettings.musicVol()*SPDSettings.musicVol()/100f );
 		Sample.INSTANCE.enable( SPDSettings.soundFx() );
 		Sample.INSTANCE.volume( SPDSettings.SFXVol()*SPDSettings.SFXVol()/100f );
 
+		//sounds are already loaded off the render thread
 		Sample.INSTANCE.load( Assets.Sounds.all );
-		
+
+		FrameProfiler.on = SPDSettings.profileFrames();
+		if (SPDSettings.inspectGizmos()) GizmoInspector.enable();
+		StartupLog.phase("audio setup");
+
+		//none of this is needed for the title scene, so it is loaded in the background while that is shown.
+		//Anything needed earlier is loaded on demand instead.
+		Thread loader = new Thread(){
+			@Override
+			public void run() {
+				long start = System.nanoTime();
+				//sprite and effect sheets are drawn together constantly, so they share atlas pages
+				//fireball isn't included as it needs linear filtering
+				ArrayList<String> packed = new ArrayList<>(Arrays.asList(Assets.Sprites.all));
+				Collections.addAll(packed, Assets.Effects.EFFECTS, Assets.Effects.SPECKS, Assets.Effects.SPELL_ICONS);
+				TextureAtlas.pack(packed);
+				StartupLog.background("texture atlas", start);
+
+				start = System.nanoTime();
+				Messages.preloadAll();
+				StartupLog.background("message bundles", start);
+			}
+		};
+		loader.setDaemon(true);
+		loader.setPriority(Thread.MIN_PRIORITY);
+		loader.start();
 	}
 
 	@Override
@@ -22,6 +22,7 @@
 package com.shatteredpixel.shatteredpixeldungeon.actors;
 
 import com.shatteredpixel.shatteredpixeldungeon.Dungeon;
+import com.shatteredpixel.shatteredpixeldungeon.GameContext;
 import com.shatteredpixel.shatteredpixeldungeon.Statistics;
 import com.shatteredpixel.shatteredpixeldungeon.actors.blobs.Blob;
 import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Buff;
@@ -69,6 +70,7 @@ public abstract class Actor implements Bundlable {
 	}
 	
 	protected void postpone( float time ) {
+		float now = now();
 		if (this.time < now + time) {
 			this.time = now + time;
 			//if time is very close to a whole number, round to a whole number to fix errors
@@ -80,7 +82,7 @@ public abstract class Actor implements Bundlable {
 	}
 	
 	public float cooldown() {
-		return time - now;
+		return time - now();
 	}
 
 	public void clearTime() {
@@ -88,7 +90,7 @@ public abstract class Actor implements Bundlable {
 	}
 
 	public void timeToNow() {
-		time = now;
+		time = now();
 	}
 	
 	protected void diactivate() {
@@ -115,7 +117,7 @@ public abstract class Actor implements Bundlable {
 		if (Actor.findById(incomingID) == null){
 			id = incomingID;
 		} else {
-			id = nextID++;
+			id = state().nextID++;
 		}
 	}
 
@@ -123,59 +125,71 @@ public abstract class Actor implements Bundlable {
 		if (id > 0) {
 			return id;
 		} else {
-			return (id = nextID++);
+			return (id = state().nextID++);
 		}
 	}
 
 	// **********************
 	// *** Static members ***
 	// **********************
-	
-	private static HashSet<Actor> all = new HashSet<>();
-	private static HashSet<Char> chars = new HashSet<>();
-	private static volatile Actor current;
 
-	private static SparseArray<Actor> ids = new SparseArray<>();
-	private static int nextID = 1;
+	//actor bookkeeping for one game instance, each GameContext owns one of these.
+	//static methods lock on the state rather than the class, so separate instances don't contend.
+	public static class State {
+		private final HashSet<Actor> all = new HashSet<>();
+		private final HashSet<Char> chars = new HashSet<>();
+		private volatile Actor current;
+
+		private final SparseArray<Actor> ids = new SparseArray<>();
+		private int nextID = 1;
+
+		private float now = 0;
+	}
 
-	private static float now = 0;
+	private static State state(){
+		return GameContext.current().actors;
+	}
 	
 	public static float now(){
-		return now;
+		return state().now;
 	}
 	
-	public static synchronized void clear() {
-		
-		now = 0;
+	public static void clear() {
+		State s = state();
+		synchronized (s) {
+			s.now = 0;
 
-		all.clear();
-		chars.clear();
+			s.all.clear();
+			s.chars.clear();
 
-		ids.clear();
+			s.ids.clear();
+		}
 	}
 
-	public static synchronized void fixTime() {
-		
-		if (all.isEmpty()) return;
-		
-		float min = Float.MAX_VALUE;
-		for (Actor a : all) {
-			if (a.time < min) {
-				min = a.time;
+	public static void fixTime() {
+		State s = state();
+		synchronized (s) {
+			if (s.all.isEmpty()) return;
+
+			float min = Float.MAX_VALUE;
+			for (Actor a : s.all) {
+				if (a.time < min) {
+					min = a.time;
+				}
 			}
-		}
 
-		//Only pull everything back by whole numbers
-		//So that turns always align with a whole number
-		min = (int)min;
-		for (Actor a : all) {
-			a.time -= min;
-		}
+			//Only pull everything back by whole numbers
+			//So that turns always align with a whole number
+			min = (int) min;
+			for (Actor a : s.all) {
+				a.time -= min;
+			}
 
-		if (Dungeon.hero != null && all.contains( Dungeon.hero )) {
-			Statistics.duration += min;
+			if (Dungeon.hero != null && s.all.contains(Dungeon.hero)) {
+				Statistics.duration += min;
+			}
+			s.now -= min;
 		}
-		now -= min;
 	}
 	
 	public static void init() {
@@ -195,34 +209,36 @@ public abstract class Actor implements Bundlable {
 			add( blob );
 		}
 		
-		current = null;
+		state().current = null;
 	}
 
 	private static final String NEXTID = "nextid";
 
 	public static void storeNextID( Bundle bundle){
-		bundle.put( NEXTID, nextID );
+		bundle.put( NEXTID, state().nextID );
 	}
 
 	public static void restoreNextID( Bundle bundle){
-		nextID = bundle.getInt( NEXTID );
+		state().nextID = bundle.getInt( NEXTID );
 	}
 
 	public static void resetNextID(){
-		nextID = 1;
+		state().nextID = 1;
 	}
 
 	/*protected*/public void next() {
-		if (current == this) {
-			current = null;
+		State s = state();
+		if (s.current == this) {
+			s.current = null;
 		}
 	}
 
 	public static boolean processing(){
-		return current != null;
+		return state().current != null;
 	}
 
 	public static int curActorPriority() {
+		Actor current = state().current;
 		return current != null ? current.actPriority : DEFAULT;
 	}
 	
@@ -230,41 +246,27 @@ public abstract class Actor implements Bundlable {
 	
 	public static void process() {
 		
+		State s = state();
 		boolean doNext;
 		boolean interrupted = false;
 
 		do {
 			
-			current = null;
+			s.current = null;
 			if (!interrupted) {
-				float earliest = Float.MAX_VALUE;
-
-				for (Actor actor : all) {
-					
-					//some actors will always go before others if time is equal.
-					if (actor.time < earliest ||
-							actor.time == earliest && (current == null || actor.actPriority > current.actPriority)) {
-						earliest = actor.time;
-						current = actor;
-					}
-					
-				}
+				s.current = nextActor(s);
 			}
 
-			if  (current != null) {
+			if  (s.current != null) {
 
-				now = current.time;
-				Actor acting = current;
+				s.now = s.current.time;
+				Actor acting = s.current;
 
 				if (acting instanceof Char && ((Char) acting).sprite != null) {
 					// If it's character's turn to act, but its sprite
 					// is moving, wait till the movement is over
 					try {
-						synchronized (((Char)acting).sprite) {
-							if (((Char)acting).sprite.isMoving) {
-								((Char) acting).sprite.wait();
-							}
-						}
+						((Char) acting).sprite.awaitMovement();
 					} catch (InterruptedException e) {
 						interrupted = true;
 					}
@@ -274,12 +276,18 @@ public abstract class Actor implements Bundlable {
 				
 				if (interrupted){
 					doNext = false;
-					current = null;
+					s.current = null;
 				} else {
-					doNext = acting.act();
+					if (ActorProfiler.enabled) {
+						ActorProfiler.begin(acting);
+						doNext = acting.act();
+						ActorProfiler.end();
+					} else {
+						doNext = acting.act();
+					}
 					if (doNext && (Dungeon.hero == null || !Dungeon.hero.isAlive())) {
 						doNext = false;
-						current = null;
+						s.current = null;
 					}
 				}
 			} else {
@@ -287,86 +295,116 @@ public abstract class Actor implements Bundlable {
 			}
 
 			if (!doNext){
-				synchronized (Thread.currentThread()) {
-					
-					interrupted = interrupted || Thread.interrupted();
-					
-					if (interrupted){
-						current = null;
-						interrupted = false;
-					}
+				interrupted = interrupted || Thread.interrupted();
 
-					//signals to the gamescene that actor processing is finished for now
-					Thread.currentThread().notify();
-					
-					try {
-						Thread.currentThread().wait();
-					} catch (InterruptedException e) {
-						interrupted = true;
-					}
+				if (interrupted){
+					s.current = null;
+					interrupted = false;
+				}
+
+				//signals to the gamescene that actor processing is finished for now
+				try {
+					TurnPipeline.awaitResume();
+				} catch (InterruptedException e) {
+					interrupted = true;
 				}
 			}
 
 		} while (keepActorThreadAlive);
 	}
 	
+	private static Actor nextActor( State s ){
+		Actor next = null;
+		float earliest = Float.MAX_VALUE;
+
+		for (Actor actor : s.all) {
+
+			//some actors will always go before others if time is equal.
+			if (actor.time < earliest ||
+					actor.time == earliest && (next == null || actor.actPriority > next.actPriority)) {
+				earliest = actor.time;
+				next = actor;
+			}
+
+		}
+		return next;
+	}
+
 	public static void add( Actor actor ) {
-		add( actor, now );
+		add( actor, now() );
 	}
 	
 	public static void addDelayed( Actor actor, float delay ) {
-		add( actor, now + delay );
+		add( actor, now() + delay );
 	}
 	
-	private static synchronized void add( Actor actor, float time ) {
-		
-		if (all.contains( actor )) {
-			return;
-		}
+	private static void add( Actor actor, float time ) {
+		State s = state();
+		synchronized (s) {
+			if (s.all.contains( actor )) {
+				return;
+			}
 
-		ids.put( actor.id(),  actor );
+			s.ids.put( actor.id(), actor );
 
-		all.add( actor );
-		actor.time += time;
-		actor.onAdd();
-		
-		if (actor instanceof Char) {
-			Char ch = (Char)actor;
-			chars.add( ch );
-			for (Buff buff : ch.buffs()) {
-				add(buff);
+			s.all.add( actor );
+			actor.time += time;
+			actor.onAdd();
+
+			if (actor instanceof Char) {
+				Char ch = (Char) actor;
+				s.chars.add( ch );
+				for (Buff buff : ch.buffs()) {
+					add( buff, s.now );
+				}
 			}
 		}
 	}
 	
-	public static synchronized void remove( Actor actor ) {
-		
-		if (actor != null) {
-			all.remove( actor );
-			chars.remove( actor );
+	public static void remove( Actor actor ) {
+		if (actor == null) return;
+
+		State s = state();
+		synchronized (s) {
+			s.all.remove( actor );
+			s.chars.remove( actor );
 			actor.onRemove();
 
 			if (actor.id > 0) {
-				ids.remove( actor.id );
+				s.ids.remove( actor.id );
 			}
 		}
 	}
 	
-	public static synchronized Char findChar( int pos ) {
-		for (Char ch : chars){
-			if (ch.pos == pos)
-				return ch;
+	public static Char findChar( int pos ) {
+		State s = state();
+		synchronized (s) {
+			for (Char ch : s.chars) {
+				if (ch.pos == pos)
+					return ch;
+			}
+			return null;
 		}
-		return null;
 	}
 
-	public static synchronized Actor findById( int id ) {
-		return ids.get( id );
+	public static Actor findById( int id ) {
+		State s = state();
+		synchronized (s) {
+			return s.ids.get( id );
+		}
 	}
 
-	public static synchronized HashSet<Actor> all() {
-		return new HashSet<>(all);
+	public static HashSet<Actor> all() {
+		State s = state();
+		synchronized (s) {
+			return new HashSet<>( s.all );
+		}
 	}
 
-	public static synchronized HashSet<Char> chars() { return new HashSet<>(chars); }
+	public static HashSet<Char> chars() {
+		State s = state();
+		synchronized (s) {
+			return new HashSet<>( s.chars );
+		}
+	}
 }
@@ -0,0 +1,210 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2022 Evan Debenham
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package com.shatteredpixel.shatteredpixeldungeon.actors;
+
+import com.shatteredpixel.shatteredpixeldungeon.actors.hero.Hero;
+import com.watabou.noosa.Game;
+import com.watabou.utils.FileUtilsKt;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+
+//Opt-in timing of actor turns, keyed by the acting class (or the hero's current action).
+//Records wall time and, where the platform supports it, bytes allocated per act().
+public class ActorProfiler {
+
+	public static boolean enabled = false;
+
+	public static final String CSV_FILE     = "actor_profile.csv";
+	public static final String JSON_FILE    = "actor_profile.json";
+
+	//turn durations are bucketed by powers of two, starting at 1us. The last bucket holds anything slower.
+	public static final int BUCKETS = 16;
+	//histograms only count each type's most recent turns, so they follow what is currently happening
+	public static final int WINDOW = 256;
+
+	public static class Entry {
+
+		public final String name;
+
+		public long turns;
+		public long totalNanos;
+		public long maxNanos;
+		//-1 if allocations couldn't be measured
+		public long allocatedBytes;
+
+		public final int[] histogram = new int[BUCKETS];
+		private final byte[] recent = new byte[WINDOW];
+		private int recentPos = 0;
+
+		private Entry( String name ){
+			this.name = name;
+		}
+
+		private void record( long nanos, long bytes ){
+			turns++;
+			totalNanos += nanos;
+			maxNanos = Math.max(maxNanos, nanos);
+			allocatedBytes = bytes < 0 || allocatedBytes < 0 ? -1 : allocatedBytes + bytes;
+
+			//once the window is full, the turn being overwritten leaves the histogram
+			if (turns > WINDOW){
+				histogram[recent[recentPos]]--;
+			}
+			int bucket = bucket(nanos);
+			recent[recentPos] = (byte)bucket;
+			histogram[bucket]++;
+			recentPos = (recentPos + 1) % WINDOW;
+		}
+
+		public long averageNanos(){
+			return turns == 0 ? 0 : totalNanos / turns;
+		}
+
+		public long averageBytes(){
+			return turns == 0 || allocatedBytes < 0 ? -1 : allocatedBytes / turns;
+		}
+
+		//upper bound of the bucket containing the given percentile of recent turns, in microseconds
+		public long percentileMicros( float percentile ){
+			int total = 0;
+			for (int count : histogram) total += count;
+
+			int target = (int)Math.ceil(total * percentile);
+			int seen = 0;
+			for (int i = 0; i < BUCKETS; i++){
+				seen += histogram[i];
+				if (seen >= target && seen > 0){
+					return 1L << i;
+				}
+			}
+			return 1L << (BUCKETS-1);
+		}
+	}
+
+	private static final HashMap<Class<?>, Entry> entries = new HashMap<>();
+
+	private static Class<?> key;
+	private static long startNanos;
+	private static long startBytes;
+
+	private static int bucket( long nanos ){
+		long micros = nanos / 1000;
+		int bucket = 0;
+		while (micros > 1 && bucket < BUCKETS-1){
+			micros >>= 1;
+			bucket++;
+		}
+		return bucket;
+	}
+
+	private static long allocatedBytes(){
+		return Game.platform != null ? Game.platform.threadAllocatedBytes() : -1;
+	}
+
+	//called right before an actor acts, on the thread doing the acting
+	public static void begin( Actor actor ){
+		if (actor instanceof Hero && ((Hero) actor).curAction != null){
+			key = ((Hero) actor).curAction.getClass();
+		} else {
+			key = actor.getClass();
+		}
+		startBytes = allocatedBytes();
+		startNanos = System.nanoTime();
+	}
+
+	//called right after the actor began with begin() has finished acting
+	public static void end(){
+		long nanos = System.nanoTime() - startNanos;
+		long bytes = startBytes < 0 ? -1 : allocatedBytes() - startBytes;
+
+		synchronized (entries) {
+			Entry entry = entries.get(key);
+			if (entry == null){
+				String name = key.getName();
+				entry = new Entry(name.substring(name.lastIndexOf('.') + 1));
+				entries.put(key, entry);
+			}
+			entry.record(nanos, bytes);
+		}
+	}
+
+	public static void reset(){
+		synchronized (entries) {
+			entries.clear();
+		}
+	}
+
+	//the most expensive actor types by total time spent, most expensive first
+	public static ArrayList<Entry> top( int count ){
+		ArrayList<Entry> result;
+		synchronized (entries) {
+			result = new ArrayList<>(entries.values());
+		}
+		Collections.sort(result, (a, b) -> Long.compare(b.totalNanos, a.totalNanos));
+		if (result.size() > count){
+			result.subList(count, result.size()).clear();
+		}
+		return result;
+	}
+
+	//writes the current results as both CSV and JSON into the save directory
+	public static void dump() throws IOException {
+		ArrayList<Entry> all = top(Integer.MAX_VALUE);
+
+		StringBuilder csv = new StringBuilder("actor,turns,total_ms,avg_us,max_us,p50_us,p95_us,avg_alloc_bytes");
+		for (int i = 0; i < BUCKETS; i++){
+			csv.append(",le_").append(1L << i).append("us");
+		}
+		csv.append('\n');
+
+		StringBuilder json = new StringBuilder("[\n");
+
+		for (Entry e : all){
+			csv.append(String.format(Locale.ENGLISH, "%s,%d,%.3f,%d,%d,%d,%d,%d",
+					e.name, e.turns, e.totalNanos / 1_000_000f, e.averageNanos() / 1000, e.maxNanos / 1000,
+					e.percentileMicros(0.5f), e.percentileMicros(0.95f), e.averageBytes()));
+			for (int count : e.histogram){
+				csv.append(',').append(count);
+			}
+			csv.append('\n');
+
+			if (json.length() > 2) json.append(",\n");
+			json.append(String.format(Locale.ENGLISH,
+					"  {\"actor\": \"%s\", \"turns\": %d, \"totalNanos\": %d, \"maxNanos\": %d, \"allocatedBytes\": %d, \"histogram\": [",
+					e.name, e.turns, e.totalNanos, e.maxNanos, e.allocatedBytes));
+			for (int i = 0; i < BUCKETS; i++){
+				if (i > 0) json.append(", ");
+				json.append(e.histogram[i]);
+			}
+			json.append("]}");
+		}
+		json.append("\n]\n");
+
+		FileUtilsKt.writeText(CSV_FILE, csv.toString());
+		FileUtilsKt.writeText(JSON_FILE, json.toString());
+	}
+
+}
@@ -0,0 +1,163 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2022 Evan Debenham
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package com.shatteredpixel.shatteredpixeldungeon.actors;
+
+import com.watabou.noosa.Game;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+//Hands control between the actor thread and the render thread.
+//Visible animations register a pending completion which a char's next turn waits on, so the actor thread
+// only blocks when a turn actually depends on an unfinished animation, and keeps processing everyone else meanwhile.
+//The number of pending animations is bounded, so game logic can't run too far ahead of what is on screen.
+public class TurnPipeline {
+
+	private static final int MAX_PENDING = 32;
+	private static final long MAX_WAIT = 1000;
+
+	private static final ReentrantLock lock = new ReentrantLock();
+	private static final Condition changed = lock.newCondition();
+
+	private static final ArrayList<Animation> pending = new ArrayList<>();
+
+	private static boolean idle = false;
+	private static boolean resumeRequested = false;
+
+	public static class Animation {
+
+		private boolean done = false;
+
+		public boolean isDone(){
+			lock.lock();
+			try {
+				return done;
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		//called by the render thread once the animation has finished
+		public void complete(){
+			lock.lock();
+			try {
+				if (done) return;
+				done = true;
+				pending.remove(this);
+				changed.signalAll();
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		//blocks the actor thread until the animation has finished
+		public void await() throws InterruptedException {
+			lock.lock();
+			try {
+				while (!done) changed.await();
+			} finally {
+				lock.unlock();
+			}
+		}
+	}
+
+	//registers a new animation which later turns may depend on.
+	//if too many are already playing, the actor thread waits for the oldest ones first.
+	public static Animation begin() throws InterruptedException {
+		Animation animation = new Animation();
+		lock.lock();
+		try {
+			//the render thread completes animations, so it must never wait for them
+			if (!Game.onRenderThread()) {
+				long nanos = TimeUnit.MILLISECONDS.toNanos(MAX_WAIT);
+				while (pending.size() >= MAX_PENDING && nanos > 0) {
+					nanos = changed.awaitNanos(nanos);
+				}
+			}
+			//animations that are somehow never completed shouldn't stall the game forever
+			while (pending.size() >= MAX_PENDING) {
+				Animation oldest = pending.remove(0);
+				oldest.done = true;
+				changed.signalAll();
+			}
+			pending.add(animation);
+		} finally {
+			lock.unlock();
+		}
+		return animation;
+	}
+
+	//completes every pending animation, for when the sprites playing them are going away
+	public static void reset(){
+		lock.lock();
+		try {
+			for (Animation animation : pending) {
+				animation.done = true;
+			}
+			pending.clear();
+			changed.signalAll();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	//called by the actor thread when it has nothing left to process until something changes
+	public static void awaitResume() throws InterruptedException {
+		lock.lock();
+		try {
+			idle = true;
+			changed.signalAll();
+			while (!resumeRequested) changed.await();
+		} finally {
+			resumeRequested = false;
+			idle = false;
+			lock.unlock();
+		}
+	}
+
+	//called by the render thread to let the actor thread continue processing
+	public static void resume(){
+		lock.lock();
+		try {
+			resumeRequested = true;
+			changed.signalAll();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	//waits up to the given time for the actor thread to become idle, returns whether it did
+	public static boolean awaitIdle( long millis ) throws InterruptedException {
+		lock.lock();
+		try {
+			long nanos = TimeUnit.MILLISECONDS.toNanos(millis);
+			while (!idle && nanos > 0) {
+				nanos = changed.awaitNanos(nanos);
+			}
+			return idle;
+		} finally {
+			lock.unlock();
+		}
+	}
+}
@@ -222,6 +222,11 @@ public class Blob extends Actor {
 	public void onBuildFlagMaps( Level l ){
 		//do nothing by default, only some blobs affect flags
 	}
+
+	//single cell version of onBuildFlagMaps, called when a cell's flags are recomputed
+	public void onUpdateFlags( Level l, int cell ){
+		//do nothing by default, only some blobs affect flags
+	}
 	
 	public String tileDesc() {
 		return null;
@@ -28,7 +28,6 @@ import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Roots;
 import com.shatteredpixel.shatteredpixeldungeon.effects.BlobEmitter;
 import com.shatteredpixel.shatteredpixeldungeon.effects.particles.WebParticle;
 import com.shatteredpixel.shatteredpixeldungeon.levels.Level;
-import com.shatteredpixel.shatteredpixeldungeon.levels.Terrain;
 import com.shatteredpixel.shatteredpixeldungeon.messages.Messages;
 
 public class Web extends Blob {
@@ -38,6 +37,27 @@ public class Web extends Blob {
 		actPriority = HERO_PRIO+1;
 	}
 	
+	@Override
+	public boolean act() {
+		boolean evolving = volume > 0;
+		super.act();
+
+		if (evolving) {
+			//cur now holds this turn's web and off the last turn's, so cells which lost their web can be restored
+			Level l = Dungeon.level;
+			for (int i = area.left; i < area.right; i++){
+				for (int j = area.top; j < area.bottom; j++){
+					int cell = i + j*l.width();
+					if (off[cell] > 0 && cur[cell] == 0){
+						l.updateFlags(cell);
+					}
+				}
+			}
+		}
+
+		return true;
+	}
+
 	@Override
 	protected void evolve() {
 
@@ -50,9 +70,6 @@ public class Web extends Blob {
 				off[cell] = cur[cell] > 0 ? cur[cell] - 1 : 0;
 
 				volume += off[cell];
-
-				l.solid[cell] = off[cell] > 0 || (Terrain.flags[l.map[cell]] & Terrain.SOLID) != 0;
-				l.flamable[cell] = off[cell] > 0 || (Terrain.flags[l.map[cell]] & Terrain.FLAMABLE) != 0;
 			}
 		}
 	}
@@ -60,8 +77,7 @@ public class Web extends Blob {
 	@Override
 	public void seed(Level level, int cell, int amount) {
 		super.seed(level, cell, amount);
-		level.solid[cell] = cur[cell] > 0 || (Terrain.flags[level.map[cell]] & Terrain.SOLID) != 0;
-		level.flamable[cell] = cur[cell] > 0 || (Terrain.flags[level.map[cell]] & Terrain.FLAMABLE) != 0;
+		level.updateFlags(cell);
 	}
 
 	//affects characters as they step on it. See Level.OccupyCell and Level.PressCell
@@ -80,15 +96,19 @@ public class Web extends Blob {
 	public void clear(int cell) {
 		super.clear(cell);
 		if (cur == null) return;
-		Level l = Dungeon.level;
-		l.solid[cell] = cur[cell] > 0 || (Terrain.flags[l.map[cell]] & Terrain.SOLID) != 0;
-		l.flamable[cell] = cur[cell] > 0 || (Terrain.flags[l.map[cell]] & Terrain.FLAMABLE) != 0;
+		Dungeon.level.updateFlags(cell);
 	}
 
 	@Override
 	public void fullyClear() {
+		int[] webbed = cur;
 		super.fullyClear();
-		Dungeon.level.buildFlagMaps();
+		//only cells which had web on them need their flags restored
+		if (webbed != null) {
+			for (int i = 0; i < webbed.length; i++) {
+				if (webbed[i] > 0) Dungeon.level.updateFlags(i);
+			}
+		}
 	}
 
 	@Override
@@ -101,6 +121,13 @@ public class Web extends Blob {
 		}
 	}
 
+	@Override
+	public void onUpdateFlags(Level l, int cell) {
+		if (cur != null && cur[cell] > 0){
+			l.solid[cell] = l.flamable[cell] = true;
+		}
+	}
+
 	@Override
 	public String tileDesc() {
 		return Messages.get(this, "desc");
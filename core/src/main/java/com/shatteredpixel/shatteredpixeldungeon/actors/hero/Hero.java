@@ -197,6 +197,11 @@ public class Hero extends Char {
 	private Char enemy;
 	
 	public boolean resting = false;
+
+	//while resting, several turns are simulated in a row before handing control back to the render thread.
+	//UI refreshes and fog updates are done once per batch rather than every turn.
+	private static final long FAST_FORWARD_NANOS = 8_000_000;
+	private long fastForwardStart = -1;
 	
 	public Belongings belongings;
 	
@@ -661,9 +666,15 @@ public class Hero extends Char {
 			buff(Endure.EndureTracker.class).endEnduring();
 		}
 		
+		//resting is stopped from many places, a batch never carries over past that
+		if (!resting) {
+			fastForwardStart = -1;
+		}
+		boolean fastForwarding = resting && fastForwardStart != -1;
+
 		if (!ready) {
 			//do a full observe (including fog update) if not resting.
-			if (!resting || buff(MindVision.class) != null || buff(Awareness.class) != null) {
+			if (!resting || !fastForwarding && (buff(MindVision.class) != null || buff(Awareness.class) != null)) {
 				Dungeon.observe();
 			} else {
 				//otherwise just directly re-calculate FOV
@@ -672,11 +683,14 @@ public class Hero extends Char {
 		}
 		
 		checkVisibleMobs();
-		BuffIndicator.refreshHero();
+		if (!fastForwarding) {
+			BuffIndicator.refreshHero();
+		}
 		
 		if (paralysed > 0) {
 			
 			curAction = null;
+			fastForwardStart = -1;
 			
 			spendAndNext( TICK );
 			return false;
@@ -688,15 +702,17 @@ public class Hero extends Char {
 			if (resting) {
 				spend( TIME_TO_REST );
 				next();
+				actResult = fastForward();
 			} else {
+				fastForwardStart = -1;
 				ready();
+				actResult = false;
 			}
 			
-			actResult = false;
-			
 		} else {
 			
 			resting = false;
+			fastForwardStart = -1;
 			
 			ready = false;
 			
@@ -739,6 +755,23 @@ public class Hero extends Char {
 		return actResult;
 	}
 	
+	//returns whether the actor thread should go on to the next turn right away while resting.
+	//anything that would interrupt resting also clears it, which ends the batch on the next act.
+	private boolean fastForward(){
+		long now = System.nanoTime();
+		if (fastForwardStart == -1) {
+			fastForwardStart = now;
+		}
+		if (now - fastForwardStart < FAST_FORWARD_NANOS) {
+			return true;
+		}
+
+		//end of this batch, catch the UI up before the next frame is drawn
+		fastForwardStart = -1;
+		BuffIndicator.refreshHero();
+		return false;
+	}
+
 	public void busy() {
 		ready = false;
 	}
@@ -761,6 +794,7 @@ public class Hero extends Char {
 			lastAction = curAction;
 		}
 		curAction = null;
+		fastForwardStart = -1;
 		GameScene.resetKeyHold();
 	}
 	
@@ -1123,6 +1157,8 @@ public class Hero extends Char {
 			}
 		}
 		resting = fullRest;
+		//a new rest starts a new batch
+		fastForwardStart = -1;
 	}
 	
 	@Override
@@ -38,6 +38,8 @@ public class Beam extends Image {
 
 	private Beam(PointF s, PointF e, Effects.Type asset, float duration) {
 		super( Effects.get( asset ) );
+		//switches to light blending around its own draw
+		batchable = false;
 		
 		origin.set( 0, height / 2 );
 		
@@ -37,6 +37,7 @@ import com.watabou.noosa.Group;
 import com.watabou.noosa.Visual;
 import com.watabou.noosa.particles.Emitter;
 import com.watabou.noosa.particles.PixelParticle;
+import com.watabou.noosa.particles.PixelParticles;
 import com.watabou.utils.Callback;
 import com.watabou.utils.ColorMathKt;
 import com.watabou.utils.PointF;
@@ -296,7 +297,13 @@ public class MagicMissile extends Emitter {
 		public static final Emitter.Factory FACTORY = new Factory() {
 			@Override
 			public void emit( Emitter emitter, int index, float x, float y ) {
-				emitter.recycle( MagicParticle.class ).reset( x, y );
+				PixelParticles particles = emitter.particles();
+				int i = particles.add( x, y, 0x88CCFF, 1, 0.5f );
+				particles.speedX[i] = Random.Float( -10, +10 );
+				particles.speedY[i] = Random.Float( -10, +10 );
+				// alpha: 1 -> 0; size: 1 -> 4
+				particles.endSize[i] = 4;
+				particles.flags[i] = PixelParticles.FADE_OUT;
 			}
 			@Override
 			public boolean lightMode() {
@@ -307,7 +314,17 @@ public class MagicMissile extends Emitter {
 		public static final Emitter.Factory ATTRACTING = new Factory() {
 			@Override
 			public void emit( Emitter emitter, int index, float x, float y ) {
-				emitter.recycle( MagicParticle.class ).resetAttract( x, y );
+				float angle = Random.Float( PI2 );
+				float speed = Random.Float( 16, 32 );
+				float sx = speed * (float)Math.cos( angle );
+				float sy = speed * (float)Math.sin( angle );
+
+				PixelParticles particles = emitter.particles();
+				int i = particles.add( x - sx * 0.5f, y - sy * 0.5f, 0x88CCFF, 1, 0.5f );
+				particles.speedX[i] = sx;
+				particles.speedY[i] = sy;
+				particles.endSize[i] = 4;
+				particles.flags[i] = PixelParticles.FADE_OUT;
 			}
 			@Override
 			public boolean lightMode() {
@@ -357,23 +374,44 @@ public class MagicMissile extends Emitter {
 		public static final Emitter.Factory FACTORY = new Factory() {
 			@Override
 			public void emit( Emitter emitter, int index, float x, float y ) {
-				emitter.recycle( EarthParticle.class ).reset( x, y );
+				emitEarth( emitter, x, y, Random.Float( -10, +10 ), Random.Float( -10, +10 ) );
 			}
 		};
 		
 		public static final Emitter.Factory BURST = new Factory() {
 			@Override
 			public void emit( Emitter emitter, int index, float x, float y ) {
-				emitter.recycle( EarthParticle.class ).resetBurst( x, y );
+				float angle = Random.Float( PI2 );
+				float speed = Random.Float( 40, 60 );
+				emitEarth( emitter, x, y, speed * (float)Math.cos( angle ), speed * (float)Math.sin( angle ) );
 			}
 		};
 		
 		public static final Emitter.Factory ATTRACT = new Factory() {
 			@Override
 			public void emit( Emitter emitter, int index, float x, float y ) {
-				emitter.recycle( EarthParticle.class ).resetAttract( x, y );
+				float angle = Random.Float( PI2 );
+				float speed = Random.Float( 24, 32 );
+				float sx = speed * (float)Math.cos( angle );
+				float sy = speed * (float)Math.sin( angle );
+				int i = emitEarth( emitter, x - sx * 0.5f, y - sy * 0.5f, sx, sy );
+				emitter.particles().accY[i] = 0;
 			}
 		};
+
+		private static int emitEarth( Emitter emitter, float x, float y, float speedX, float speedY ){
+			int color = Random.Int(10) == 0
+					? ColorMathKt.random(0xFFF266, 0x80771A)
+					: ColorMathKt.random(0x805500, 0x332500);
+
+			PixelParticles particles = emitter.particles();
+			int i = particles.add( x, y, color, 4, 0.5f );
+			particles.speedX[i] = speedX;
+			particles.speedY[i] = speedY;
+			particles.accY[i] = 40;
+			particles.endSize[i] = 0;
+			return i;
+		}
 		
 		public EarthParticle() {
 			super();
@@ -37,6 +37,7 @@ public class ShieldHalo extends Halo {
 		
 		//rectangular sprite to circular radius. Pythagorean theorem
 		super( (float)Math.sqrt(Math.pow(sprite.width()/2f, 2) + Math.pow(sprite.height()/2f, 2)), 0xBBAACC, 1f );
+		batchable = false;
 		
 		am = -0.33f;
 		aa = +0.33f;
@@ -34,6 +34,7 @@ public class TorchHalo extends Halo {
 	
 	public TorchHalo( CharSprite sprite ) {
 		super( 20, 0xFFDDCC, 0.2f );
+		batchable = false;
 		target = sprite;
 		am = 0;
 	}
@@ -24,13 +24,18 @@ package com.shatteredpixel.shatteredpixeldungeon.effects.particles;
 import com.watabou.noosa.particles.Emitter;
 import com.watabou.noosa.particles.Emitter.Factory;
 import com.watabou.noosa.particles.PixelParticle;
+import com.watabou.noosa.particles.PixelParticles;
 
 public class FlameParticle extends PixelParticle.Shrinking {
 	
 	public static final Emitter.Factory FACTORY = new Factory() {
 		@Override
 		public void emit( Emitter emitter, int index, float x, float y ) {
-			emitter.recycle( FlameParticle.class ).reset( x, y );
+			PixelParticles particles = emitter.particles();
+			int i = particles.add( x, y, 0xEE7722, 4, 0.6f );
+			particles.accY[i] = -80;
+			particles.endSize[i] = 0;
+			particles.flags[i] = PixelParticles.FADE_IN;
 		}
 		@Override
 		public boolean lightMode() {
@@ -146,6 +146,30 @@ public abstract class Level implements Bundlable {
 	public boolean[] pit;
 
 	public boolean[] openSpace;
+
+	private ArrayList<FlagListener> flagListeners = new ArrayList<>();
+	//cells with flag changes that have not yet been published to listeners
+	private boolean[] dirtyFlags;
+	private int[] dirtyFlagCells;
+	private int dirtyFlagCount;
+
+	//losBlocking without tall grass, for those who can see through it. Kept up to date by flag changes
+	private boolean[] grassSightBlocking;
+	private final FlagListener grassSightUpdater = new FlagListener() {
+		@Override
+		public void onFlagsChanged( Level level, int[] cells ) {
+			for (int cell : cells){
+				updateGrassSight(cell);
+			}
+		}
+
+		@Override
+		public void onFlagsRebuilt( Level level ) {
+			for (int i = 0; i < length; i++){
+				updateGrassSight(i);
+			}
+		}
+	};
 	
 	public Feeling feeling = Feeling.NONE;
 
@@ -305,6 +329,13 @@ public abstract class Level implements Bundlable {
 		pit			= new boolean[length];
 
 		openSpace   = new boolean[length];
+
+		dirtyFlags      = new boolean[length];
+		dirtyFlagCells  = new int[32];
+		dirtyFlagCount  = 0;
+
+		grassSightBlocking = new boolean[length];
+		addFlagListener(grassSightUpdater);
 		
 		PathFinder.setMapSize(w, h);
 	}
@@ -770,24 +801,132 @@ public abstract class Level implements Bundlable {
 			losBlocking[i + width()-1] = solid[i + width()-1] = true;
 		}
 
-		//an open space is large enough to fit large mobs. A space is open when it is not solid
-		// and there is an open corner with both adjacent cells opens
 		for (int i=0; i < length(); i++) {
-			if (solid[i]){
-				openSpace[i] = false;
-			} else {
-				for (int j = 1; j < PathFinder.CIRCLE8.length; j += 2){
-					if (solid[i+PathFinder.CIRCLE8[j]]) {
-						openSpace[i] = false;
-					} else if (!solid[i+PathFinder.CIRCLE8[(j+1)%8]]
-							&& !solid[i+PathFinder.CIRCLE8[(j+2)%8]]){
-						openSpace[i] = true;
-						break;
-					}
+			updateOpenSpace(i);
+		}
+
+		//everything may have changed, so pending single-cell changes are redundant
+		dirtyFlagCount = 0;
+		Arrays.fill(dirtyFlags, false);
+		for (FlagListener l : flagListeners.toArray(new FlagListener[0])){
+			l.onFlagsRebuilt(this);
+		}
+
+	}
+
+	//an open space is large enough to fit large mobs. A space is open when it is not solid
+	// and there is an open corner with both adjacent cells opens
+	private void updateOpenSpace( int cell ){
+		if (solid[cell]){
+			openSpace[cell] = false;
+			return;
+		}
+		int[] circle = PathFinder.CIRCLE8;
+		openSpace[cell] = false;
+		for (int j = 1; j < 8; j += 2){
+			if (solid[cell+circle[j]]) {
+				return;
+			} else if (!solid[cell+circle[(j+1) & 7]]
+					&& !solid[cell+circle[(j+2) & 7]]){
+				openSpace[cell] = true;
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Recomputes the flags of a single cell from its terrain and any blobs on it.
+	 * Open space is only recomputed around the cell if its solidity actually changed.
+	 * The change is queued and published to {@link FlagListener}s on the next {@link #flushFlagChanges()}.
+	 */
+	public void updateFlags( int cell ){
+		int flags = Terrain.flags[map[cell]];
+		boolean wasSolid = solid[cell];
+
+		passable[cell]		= (flags & Terrain.PASSABLE) != 0;
+		losBlocking[cell]	= (flags & Terrain.LOS_BLOCKING) != 0;
+		flamable[cell]		= (flags & Terrain.FLAMABLE) != 0;
+		secret[cell]		= (flags & Terrain.SECRET) != 0;
+		solid[cell]			= (flags & Terrain.SOLID) != 0;
+		avoid[cell]			= (flags & Terrain.AVOID) != 0;
+		water[cell]			= (flags & Terrain.LIQUID) != 0;
+		pit[cell]			= (flags & Terrain.PIT) != 0;
+
+		for (Blob b : blobs.values()){
+			b.onUpdateFlags(this, cell);
+		}
+
+		//the map border is always solid, see buildFlagMaps
+		if (!insideMap(cell)){
+			passable[cell] = avoid[cell] = false;
+			losBlocking[cell] = solid[cell] = true;
+		}
+
+		if (solid[cell] != wasSolid){
+			for (int i : PathFinder.NEIGHBOURS9){
+				int n = cell + i;
+				if (n >= 0 && n < length) {
+					boolean wasOpen = openSpace[n];
+					updateOpenSpace(n);
+					if (openSpace[n] != wasOpen) markFlagsDirty(n);
 				}
 			}
 		}
 
+		markFlagsDirty(cell);
+	}
+
+	private void markFlagsDirty( int cell ){
+		if (!dirtyFlags[cell]){
+			dirtyFlags[cell] = true;
+			if (dirtyFlagCount == dirtyFlagCells.length){
+				dirtyFlagCells = Arrays.copyOf(dirtyFlagCells, dirtyFlagCount*2);
+			}
+			dirtyFlagCells[dirtyFlagCount++] = cell;
+		}
+	}
+
+	private void updateGrassSight( int cell ){
+		grassSightBlocking[cell] = losBlocking[cell]
+				&& map[cell] != Terrain.HIGH_GRASS && map[cell] != Terrain.FURROWED_GRASS;
+	}
+
+	/**
+	 * Publishes all flag changes queued since the last flush. Called once per hero turn by {@link Dungeon#observe()}.
+	 */
+	public void flushFlagChanges(){
+		if (dirtyFlagCount == 0) return;
+
+		int[] cells = Arrays.copyOf(dirtyFlagCells, dirtyFlagCount);
+		for (int cell : cells){
+			dirtyFlags[cell] = false;
+		}
+		dirtyFlagCount = 0;
+
+		for (FlagListener l : flagListeners.toArray(new FlagListener[0])){
+			l.onFlagsChanged(this, cells);
+		}
+	}
+
+	public void addFlagListener( FlagListener listener ){
+		if (!flagListeners.contains(listener)) flagListeners.add(listener);
+	}
+
+	public void removeFlagListener( FlagListener listener ){
+		flagListeners.remove(listener);
+	}
+
+	/**
+	 * Receives batched changes to this level's flag maps, e.g. to invalidate cached paths or visuals.
+	 */
+	public interface FlagListener {
+
+		//cells whose flags changed since the previous batch, each listed once
+		public void onFlagsChanged( Level level, int[] cells );
+
+		//the whole flag map was rebuilt, any cached data should be discarded
+		public void onFlagsRebuilt( Level level );
+
 	}
 
 	public void destroy( int pos ) {
@@ -835,32 +974,7 @@ public abstract class Level implements Bundlable {
 			level.traps.remove( cell );
 		}
 
-		int flags = Terrain.flags[terrain];
-		level.passable[cell]		= (flags & Terrain.PASSABLE) != 0;
-		level.losBlocking[cell]	    = (flags & Terrain.LOS_BLOCKING) != 0;
-		level.flamable[cell]		= (flags & Terrain.FLAMABLE) != 0;
-		level.secret[cell]		    = (flags & Terrain.SECRET) != 0;
-		level.solid[cell]			= (flags & Terrain.SOLID) != 0;
-		level.avoid[cell]			= (flags & Terrain.AVOID) != 0;
-		level.pit[cell]			    = (flags & Terrain.PIT) != 0;
-		level.water[cell]			= terrain == Terrain.WATER;
-
-		for (int i : PathFinder.NEIGHBOURS9){
-			i = cell + i;
-			if (level.solid[i]){
-				level.openSpace[i] = false;
-			} else {
-				for (int j = 1; j < PathFinder.CIRCLE8.length; j += 2){
-					if (level.solid[i+PathFinder.CIRCLE8[j]]) {
-						level.openSpace[i] = false;
-					} else if (!level.solid[i+PathFinder.CIRCLE8[(j+1)%8]]
-							&& !level.solid[i+PathFinder.CIRCLE8[(j+2)%8]]){
-						level.openSpace[i] = true;
-						break;
-					}
-				}
-			}
-		}
+		level.updateFlags( cell );
 	}
 	
 	public Heap drop( Item item, int cell ) {
@@ -1165,13 +1279,9 @@ public abstract class Level implements Bundlable {
 			
 			if ((c instanceof Hero && ((Hero) c).subClass == HeroSubClass.WARDEN)
 				|| c instanceof YogFist.SoiledFist) {
-				System.arraycopy(Dungeon.level.losBlocking, 0, modifiableBlocking, 0, modifiableBlocking.length);
-				blocking = modifiableBlocking;
-				for (int i = 0; i < blocking.length; i++){
-					if (blocking[i] && (Dungeon.level.map[i] == Terrain.HIGH_GRASS || Dungeon.level.map[i] == Terrain.FURROWED_GRASS)){
-						blocking[i] = false;
-					}
-				}
+				//changes from earlier in this turn may not have been published yet
+				Dungeon.level.flushFlagChanges();
+				blocking = Dungeon.level.grassSightBlocking;
 			} else if (c.alignment != Char.Alignment.ALLY
 					&& Dungeon.level.blobs.containsKey(SmokeScreen.class)
 					&& Dungeon.level.blobs.get(SmokeScreen.class).volume > 0) {
@@ -192,7 +192,10 @@ public class MagicalFireRoom extends SpecialRoom {
 							cur[cell] = 0;
 							clearAll = true;
 						}
-						l.passable[cell] = cur[cell] == 0 && (Terrain.flags[l.map[cell]] & Terrain.PASSABLE) != 0;
+						//burning cells are already impassable, see onUpdateFlags
+						if (cur[cell] == 0){
+							l.updateFlags(cell);
+						}
 					}
 
 					if (cur[cell] > 0
@@ -227,7 +230,7 @@ public class MagicalFireRoom extends SpecialRoom {
 		@Override
 		public void seed(Level level, int cell, int amount) {
 			super.seed(level, cell, amount);
-			level.passable[cell] = cur[cell] == 0 && (Terrain.flags[level.map[cell]] & Terrain.PASSABLE) != 0;
+			level.updateFlags(cell);
 		}
 
 		@Override
@@ -239,8 +242,14 @@ public class MagicalFireRoom extends SpecialRoom {
 
 		@Override
 		public void fullyClear() {
+			int[] burning = cur;
 			super.fullyClear();
-			Dungeon.level.buildFlagMaps();
+			//only cells which were on fire need their flags restored
+			if (burning != null) {
+				for (int i = 0; i < burning.length; i++) {
+					if (burning[i] > 0) Dungeon.level.updateFlags(i);
+				}
+			}
 		}
 
 		@Override
@@ -262,6 +271,13 @@ public class MagicalFireRoom extends SpecialRoom {
 				}
 			}
 		}
+
+		@Override
+		public void onUpdateFlags( Level l, int cell ) {
+			if (cur != null && cur[cell] > 0){
+				l.passable[cell] = false;
+			}
+		}
 	}
 
 }
@@ -0,0 +1,160 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2022 Evan Debenham
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package com.shatteredpixel.shatteredpixeldungeon.messages;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.I18NBundle;
+import com.watabou.noosa.Game;
+
+import java.nio.charset.Charset;
+import java.util.Locale;
+
+import static com.watabou.utils.FileUtilsKt.getAsset;
+
+/*
+	The text of one message file in one language.
+
+	Builds compile each language's .properties files into a binary catalog (see compileMessageCatalogs in core's
+	build.gradle), which is read without any parsing. The .properties files are used when there is no catalog,
+	e.g. when running straight from the source tree.
+ */
+public abstract class MessageCatalog {
+
+	//text for the key, or null if the file doesn't have it
+	public abstract String get( String key );
+
+	public static final String EXTENSION = ".cat";
+
+	public static MessageCatalog load( String file, Languages lang ){
+		FileHandle compiled = getAsset(file + (lang.code().isEmpty() ? "" : "_" + lang.code()) + EXTENSION);
+		if (compiled.exists()){
+			try {
+				return compiled(compiled.readBytes());
+			} catch (Exception e){
+				//fall back to the properties below
+				Game.reportException(e);
+			}
+		}
+		return new Properties(I18NBundle.createBundle(getAsset(file), new Locale(lang.code())));
+	}
+
+	//reads a catalog written by compileMessageCatalogs
+	static MessageCatalog compiled( byte[] data ){
+		return new Compiled(data);
+	}
+
+	private static class Properties extends MessageCatalog {
+
+		private final I18NBundle bundle;
+
+		private Properties( I18NBundle bundle ){
+			this.bundle = bundle;
+		}
+
+		@Override
+		public String get( String key ) {
+			String result = bundle.get(key);
+			//I18NBundle returns ???key??? for missing keys
+			if (result.length() != key.length()+6 || !result.contains(key)){
+				return result;
+			}
+			return null;
+		}
+	}
+
+	/*
+		Layout, all numbers being big-endian ints:
+		MAGIC, VERSION, entry count n,
+		n key hashes in ascending order, n key offsets, n value offsets,
+		then the string pool, where each string is its UTF-8 length followed by its UTF-8 bytes.
+		Offsets are relative to the start of the pool.
+		Catalogs for a language already contain the english text for any keys the language is missing.
+	 */
+	private static class Compiled extends MessageCatalog {
+
+		private static final int MAGIC      = 0x5350444D; //SPDM
+		private static final int VERSION    = 1;
+
+		private static final Charset UTF8 = Charset.forName("UTF-8");
+
+		private final byte[] data;
+		private final int count;
+		private final int hashes;
+		private final int keys;
+		private final int values;
+		private final int pool;
+
+		private Compiled( byte[] data ){
+			this.data = data;
+			if (getInt(0) != MAGIC || getInt(4) != VERSION){
+				throw new IllegalArgumentException("not a message catalog, or an unsupported version");
+			}
+			count = getInt(8);
+			hashes = 12;
+			keys = hashes + 4*count;
+			values = keys + 4*count;
+			pool = values + 4*count;
+		}
+
+		private int getInt( int pos ){
+			return (data[pos] & 0xFF) << 24 | (data[pos+1] & 0xFF) << 16 | (data[pos+2] & 0xFF) << 8 | (data[pos+3] & 0xFF);
+		}
+
+		private boolean stringEquals( int offset, byte[] bytes ){
+			int pos = pool + offset;
+			if (getInt(pos) != bytes.length) return false;
+			pos += 4;
+			for (int i = 0; i < bytes.length; i++){
+				if (data[pos + i] != bytes[i]) return false;
+			}
+			return true;
+		}
+
+		private String string( int offset ){
+			int pos = pool + offset;
+			return new String(data, pos + 4, getInt(pos), UTF8);
+		}
+
+		@Override
+		public String get( String key ) {
+			int hash = key.hashCode();
+
+			//find the first entry with this hash
+			int lo = 0, hi = count;
+			while (lo < hi){
+				int mid = (lo + hi) >>> 1;
+				if (getInt(hashes + 4*mid) < hash)  lo = mid + 1;
+				else                                hi = mid;
+			}
+
+			byte[] bytes = null;
+			for (int i = lo; i < count && getInt(hashes + 4*i) == hash; i++){
+				if (bytes == null) bytes = key.getBytes(UTF8);
+				if (stringEquals(getInt(keys + 4*i), bytes)){
+					return string(getInt(values + 4*i));
+				}
+			}
+			return null;
+		}
+	}
+
+}
@@ -0,0 +1,64 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2022 Evan Debenham
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package com.shatteredpixel.shatteredpixeldungeon.messages;
+
+/*
+	A handle to one piece of text, for callers which ask for the same text often.
+
+	The text is resolved once and kept until the language changes,
+	so getting it afterwards costs no more than a field read.
+ */
+public class MessageKey {
+
+	private final Class cls;
+	private final String key;
+
+	private String text;
+	private int generation = -1;
+
+	public MessageKey( Class cls, String key ){
+		this.cls = cls;
+		this.key = key;
+	}
+
+	//for keys which aren't local to a class
+	public MessageKey( String key ){
+		this(null, key);
+	}
+
+	public String get( Object...args ){
+		int current = Messages.generation();
+		if (generation != current){
+			text = Messages.resolve(cls, key);
+			generation = current;
+		}
+
+		if (text == null){
+			return Messages.NO_TEXT_FOUND;
+		} else if (args.length > 0){
+			return Messages.format(text, args);
+		} else {
+			return text;
+		}
+	}
+
+}
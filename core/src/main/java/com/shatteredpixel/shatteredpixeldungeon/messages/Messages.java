@@ -25,17 +25,21 @@ import com.badlogic.gdx.utils.I18NBundle;
 import com.shatteredpixel.shatteredpixeldungeon.Assets;
 import com.shatteredpixel.shatteredpixeldungeon.SPDSettings;
 import com.shatteredpixel.shatteredpixeldungeon.ShatteredPixelDungeon;
+import com.watabou.noosa.Game;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.IllegalFormatException;
 import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static com.watabou.utils.FileUtilsKt.getAsset;
 
 /*
-	Simple wrapper class for libGDX I18NBundles.
+	Simple wrapper class for message catalogs, compiled from .properties files or backed by libGDX I18NBundles.
 
 	The core idea here is that each string resource's key is a combination of the class definition and a local value.
 	An object or static method would usually call this with an object/class reference (usually its own) and a local key.
@@ -43,7 +47,6 @@ import static com.watabou.utils.FileUtilsKt.getAsset;
  */
 public class Messages {
 
-	private static ArrayList<I18NBundle> bundles;
 	private static Languages lang;
 
 	public static final String NO_TEXT_FOUND = "!!!NO TEXT FOUND!!!";
@@ -70,7 +73,28 @@ public class Messages {
 			Assets.Messages.WINDOWS
 	};
 
+	//each file holds the keys starting with its name, except for misc, which holds all other keys.
+	//This lets files be loaded the first time one of their keys is needed, rather than all at once on startup.
+	private static final String[] prefixes = new String[prop_files.length];
+	private static final MessageCatalog[] bundles = new MessageCatalog[prop_files.length];
+	private static int miscIndex;
+
+	//resolved text for every class and local key which has been asked for, including text inherited from parents.
+	//Building a key and searching the bundles is only done once per class and key, per language.
+	private static final ConcurrentHashMap<Class, ConcurrentHashMap<String, String>> resolved = new ConcurrentHashMap<>();
+	private static final ConcurrentHashMap<String, String> resolvedKeys = new ConcurrentHashMap<>();
+	//stands in for text which wasn't found, as the maps can't hold nulls
+	private static final String MISSING = new String(NO_TEXT_FOUND);
+
+	//incremented whenever the language changes, so cached text can be checked for staleness
+	private static volatile int generation = 0;
+
 	static{
+		for (int i = 0; i < prop_files.length; i++){
+			String file = prop_files[i];
+			prefixes[i] = file.substring(file.lastIndexOf('/')+1) + ".";
+			if (file.equals(Assets.Messages.MISC)) miscIndex = i;
+		}
 		setup(SPDSettings.language());
 	}
 
@@ -78,15 +102,94 @@ public class Messages {
 		//seeing as missing keys are part of our process, this is faster than throwing an exception
 		I18NBundle.setExceptionOnMissingKey(false);
 
-		bundles = new ArrayList<>();
-		Messages.lang = lang;
-		Locale locale = new Locale(lang.code());
+		synchronized (bundles) {
+			Messages.lang = lang;
+			Arrays.fill(bundles, null);
+			generation++;
+			resolved.clear();
+			resolvedKeys.clear();
+		}
 
-		for (String file : prop_files) {
-			bundles.add(I18NBundle.createBundle(getAsset(file), locale));
+		queueGlyphWarmup(lang);
+	}
+
+	//loads every file which hasn't been needed yet, so later lookups don't stall. Can be called from any thread.
+	public static void preloadAll(){
+		for (int i = 0; i < prop_files.length; i++){
+			bundle(i);
 		}
 	}
 
+	private static MessageCatalog bundle( int index ){
+		Languages lang;
+		synchronized (bundles) {
+			if (bundles[index] != null) return bundles[index];
+			lang = Messages.lang;
+		}
+
+		//loaded outside of the lock, so lookups in files which are already loaded don't wait on this
+		MessageCatalog bundle = MessageCatalog.load(prop_files[index], lang);
+
+		synchronized (bundles) {
+			if (Messages.lang == lang) {
+				//another thread may have loaded the same file in the meantime
+				if (bundles[index] == null) bundles[index] = bundle;
+				return bundles[index];
+			}
+		}
+		//the language changed while we were loading
+		return bundle(index);
+	}
+
+	//number of a language's most frequent characters which are generated before they are first displayed
+	private static final int WARMUP_GLYPHS = 500;
+
+	//counts character usage in the language's text off the render thread,
+	//so that the most common glyphs can be generated ahead of time in small slices per frame.
+	private static void queueGlyphWarmup( final Languages lang ){
+		if (Game.platform == null) return;
+
+		Thread thread = new Thread(){
+			@Override
+			public void run() {
+				HashMap<Character, Integer> counts = new HashMap<>();
+				for (String file : prop_files) {
+					String path = file + (lang.code().isEmpty() ? "" : "_" + lang.code()) + ".properties";
+					String text;
+					try {
+						text = getAsset(path).readString("UTF-8");
+					} catch (Exception e) {
+						continue;
+					}
+					for (String line : text.split("\n")) {
+						int start = line.indexOf('=');
+						if (start == -1) continue;
+						for (int i = start+1; i < line.length(); i++) {
+							char c = line.charAt(i);
+							if (Character.isWhitespace(c)) continue;
+							Integer count = counts.get(c);
+							counts.put(c, count == null ? 1 : count+1);
+						}
+					}
+				}
+
+				ArrayList<Character> chars = new ArrayList<>(counts.keySet());
+				Collections.sort(chars, (a, b) -> counts.get(b) - counts.get(a));
+
+				StringBuilder result = new StringBuilder();
+				for (int i = 0; i < Math.min(WARMUP_GLYPHS, chars.size()); i++) {
+					result.append(chars.get(i));
+				}
+				//the language may have changed again while we were counting
+				if (Messages.lang == lang) {
+					Game.platform.queueGlyphWarmup(result.toString());
+				}
+			}
+		};
+		thread.setDaemon(true);
+		thread.start();
+	}
+
 
 
 	/**
@@ -102,6 +205,44 @@ public class Messages {
 	}
 
 	public static String get(Class c, String k, Object...args){
+		String value = resolve(c, k);
+		if (value != null){
+			if (args.length > 0) return format(value, args);
+			else return value;
+		} else {
+			return NO_TEXT_FOUND;
+		}
+	}
+
+	static int generation(){
+		return generation;
+	}
+
+	//unformatted text for the class and local key, or null if there is none
+	static String resolve(Class c, String k){
+		ConcurrentHashMap<String, String> table;
+		if (c == null){
+			table = resolvedKeys;
+		} else {
+			table = resolved.get(c);
+			if (table == null){
+				resolved.putIfAbsent(c, new ConcurrentHashMap<>());
+				table = resolved.get(c);
+			}
+		}
+
+		String value = table.get(k);
+		if (value == null){
+			int gen = generation;
+			value = lookup(c, k);
+			if (value == null) value = MISSING;
+			//don't store text from a language which was switched away from during lookup
+			if (gen == generation) table.put(k, value);
+		}
+		return value == MISSING ? null : value;
+	}
+
+	private static String lookup(Class c, String k){
 		String key;
 		if (c != null){
 			key = c.getName().replace("com.shatteredpixel.shatteredpixeldungeon.", "");
@@ -111,30 +252,29 @@ public class Messages {
 
 		String value = getFromBundle(key.toLowerCase(Locale.ENGLISH));
 		if (value != null){
-			if (args.length > 0) return format(value, args);
-			else return value;
+			return value;
 		} else {
 			//this is so child classes can inherit properties from their parents.
 			//in cases where text is commonly grabbed as a utility from classes that aren't mean to be instantiated
 			//(e.g. flavourbuff.dispTurns()) using .class directly is probably smarter to prevent unnecessary recursive calls.
 			if (c != null && c.getSuperclass() != null){
-				return get(c.getSuperclass(), k, args);
+				return resolve(c.getSuperclass(), k);
 			} else {
-				return NO_TEXT_FOUND;
+				return null;
 			}
 		}
 	}
 
 	private static String getFromBundle(String key){
-		String result;
-		for (I18NBundle b : bundles){
-			result = b.get(key);
-			//if it isn't the return string for no key found, return it
-			if (result.length() != key.length()+6 || !result.contains(key)){
-				return result;
+		int index = miscIndex;
+		for (int i = 0; i < prefixes.length; i++){
+			if (key.startsWith(prefixes[i])){
+				index = i;
+				break;
 			}
 		}
-		return null;
+
+		return bundle(index).get(key);
 	}
 
 
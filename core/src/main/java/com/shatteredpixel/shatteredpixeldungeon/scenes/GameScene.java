@@ -33,6 +33,8 @@ import com.shatteredpixel.shatteredpixeldungeon.ShatteredPixelDungeon;
 import com.shatteredpixel.shatteredpixeldungeon.Statistics;
 import com.shatteredpixel.shatteredpixeldungeon.actors.Actor;
 import com.shatteredpixel.shatteredpixeldungeon.actors.Char;
+import com.shatteredpixel.shatteredpixeldungeon.actors.ActorProfiler;
+import com.shatteredpixel.shatteredpixeldungeon.actors.TurnPipeline;
 import com.shatteredpixel.shatteredpixeldungeon.actors.blobs.Blob;
 import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.AscensionChallenge;
 import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.ChampionEnemy;
@@ -80,6 +82,7 @@ import com.shatteredpixel.shatteredpixeldungeon.tiles.RaisedTerrainTilemap;
 import com.shatteredpixel.shatteredpixeldungeon.tiles.TerrainFeaturesTilemap;
 import com.shatteredpixel.shatteredpixeldungeon.tiles.WallBlockingTilemap;
 import com.shatteredpixel.shatteredpixeldungeon.ui.ActionIndicator;
+import com.shatteredpixel.shatteredpixeldungeon.ui.ActorProfilerOverlay;
 import com.shatteredpixel.shatteredpixeldungeon.ui.AttackIndicator;
 import com.shatteredpixel.shatteredpixeldungeon.ui.Banner;
 import com.shatteredpixel.shatteredpixeldungeon.ui.BossHealthBar;
@@ -386,6 +389,14 @@ public class GameScene extends PixelScene {
 		}
 
 		layoutTags();
+
+		ActorProfiler.enabled = SPDSettings.profileActors();
+		if (ActorProfiler.enabled){
+			ActorProfilerOverlay profiler = new ActorProfilerOverlay();
+			profiler.setCamera(uiCamera);
+			profiler.setRect(2, uiSize > 0 ? 2 : status.bottom() + 2, uiCamera.width / 2f, 0);
+			add(profiler);
+		}
 		
 		switch (InterlevelScene.mode) {
 			case RESURRECT:
@@ -598,6 +609,16 @@ public class GameScene extends PixelScene {
 			t.setStackTrace(actorThread.getStackTrace());
 			throw new RuntimeException("timeout waiting for actor thread! ", t);
 		}
+		//sprites are going away, so none of their animations will finish
+		TurnPipeline.reset();
+
+		if (ActorProfiler.enabled){
+			try {
+				ActorProfiler.dump();
+			} catch (IOException e) {
+				ShatteredPixelDungeon.reportException(e);
+			}
+		}
 
 		Emitter.freezeEmitters = false;
 		
@@ -619,15 +640,13 @@ public class GameScene extends PixelScene {
 		if (actorThread == null || !actorThread.isAlive()) {
 			return true;
 		}
-		synchronized (actorThread) {
-			if (interrupt) actorThread.interrupt();
-			try {
-				actorThread.wait(msToWait);
-			} catch (InterruptedException e) {
-				ShatteredPixelDungeon.reportException(e);
-			}
-			return !Actor.processing();
+		if (interrupt) actorThread.interrupt();
+		try {
+			TurnPipeline.awaitIdle(msToWait);
+		} catch (InterruptedException e) {
+			ShatteredPixelDungeon.reportException(e);
 		}
+		return !Actor.processing();
 	}
 	
 	@Override
@@ -654,7 +673,7 @@ public class GameScene extends PixelScene {
 	public static boolean updateItemDisplays = false;
 	
 	@Override
-	public synchronized void update() {
+	public void update() {
 		lastOffset = null;
 
 		if (updateItemDisplays){
@@ -688,9 +707,7 @@ public class GameScene extends PixelScene {
 				actorThread.start();
 			} else if (notifyDelay <= 0f) {
 				notifyDelay += 1/60f;
-				synchronized (actorThread) {
-					actorThread.notify();
-				}
+				TurnPipeline.resume();
 			}
 		}
 
@@ -728,7 +745,7 @@ public class GameScene extends PixelScene {
 	private static Point lastOffset = null;
 
 	@Override
-	public synchronized Gizmo remove (Gizmo g) {
+	public Gizmo remove (Gizmo g) {
 		Gizmo result = super.remove(g);
 		if (result instanceof Window){
 			lastOffset = ((Window) result).getOffset();
@@ -933,17 +950,17 @@ public class GameScene extends PixelScene {
 	}
 
 	public static void addSprite( Mob mob ) {
-		scene.addMobSprite( mob );
+		if (scene != null) scene.addMobSprite( mob );
 	}
 	
 	public static void add( Mob mob, float delay ) {
 		Dungeon.level.mobs.add( mob );
-		scene.addMobSprite( mob );
+		if (scene != null) scene.addMobSprite( mob );
 		Actor.addDelayed( mob, delay );
 	}
 	
 	public static void add( EmoIcon icon ) {
-		scene.emoicons.add( icon );
+		if (scene != null) scene.emoicons.add( icon );
 	}
 	
 	public static void add( CharHealthIndicator indicator ){
@@ -964,7 +981,7 @@ public class GameScene extends PixelScene {
 	}
 
 	public static void effectOverFog( Visual effect ) {
-		scene.overFogEffects.add( effect );
+		if (scene != null) scene.overFogEffects.add( effect );
 	}
 	
 	public static Ripple ripple( int pos ) {
@@ -53,6 +53,7 @@ import com.watabou.noosa.Camera;
 import com.watabou.noosa.Game;
 import com.watabou.noosa.Image;
 import com.watabou.noosa.SkinnedBlock;
+import com.watabou.noosa.audio.MusicPlayer;
 import com.watabou.utils.DeviceCompat;
 
 import java.io.FileNotFoundException;
@@ -280,6 +281,9 @@ public class InterlevelScene extends PixelScene {
 							break;
 					}
 
+					//gets the new level's music ready while we fade out, so the game scene can start it instantly
+					MusicPlayer.INSTANCE.prebuffer(Dungeon.level::playLevelMusic);
+
 				} catch (Exception e) {
 
 					error = e;
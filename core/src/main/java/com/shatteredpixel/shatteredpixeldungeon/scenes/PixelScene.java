@@ -27,6 +27,7 @@ import com.shatteredpixel.shatteredpixeldungeon.SPDSettings;
 import com.shatteredpixel.shatteredpixeldungeon.effects.BadgeBanner;
 import com.shatteredpixel.shatteredpixeldungeon.messages.Languages;
 import com.shatteredpixel.shatteredpixeldungeon.messages.Messages;
+import com.shatteredpixel.shatteredpixeldungeon.ui.FrameProfilerOverlay;
 import com.shatteredpixel.shatteredpixeldungeon.ui.RenderedTextBlock;
 import com.shatteredpixel.shatteredpixeldungeon.ui.Tooltip;
 import com.shatteredpixel.shatteredpixeldungeon.ui.Window;
@@ -39,6 +40,7 @@ import com.watabou.noosa.BitmapText;
 import com.watabou.noosa.BitmapText.Font;
 import com.watabou.noosa.Camera;
 import com.watabou.noosa.ColorBlock;
+import com.watabou.noosa.FrameProfiler;
 import com.watabou.noosa.Game;
 import com.watabou.noosa.Gizmo;
 import com.watabou.noosa.Image;
@@ -211,6 +213,7 @@ public class PixelScene extends Scene {
 	}
 
 	private Image cursor = null;
+	private FrameProfilerOverlay frameStats = null;
 
 	@Override
 	public synchronized void draw() {
@@ -229,6 +232,17 @@ public class PixelScene extends Scene {
 			align(cursor);
 			cursor.draw();
 		}
+
+		//as is the frame profiler's overlay
+		if (FrameProfiler.on){
+			if (frameStats == null){
+				frameStats = new FrameProfilerOverlay();
+				frameStats.setCamera(uiCamera);
+				frameStats.setRect(uiCamera.width / 2f, 2, uiCamera.width / 2f - 2, 0);
+			}
+			frameStats.update();
+			frameStats.draw();
+		}
 	}
 
 	//FIXME this system currently only works for a subset of windows
@@ -266,6 +280,9 @@ public class PixelScene extends Scene {
 		if (cursor != null){
 			cursor.destroy();
 		}
+		if (frameStats != null){
+			frameStats.destroy();
+		}
 	}
 
 	public static boolean landscape(){
@@ -354,6 +371,8 @@ public class PixelScene extends Scene {
 			super( uiCamera.width, uiCamera.height, color );
 			
 			this.light = light;
+			//light faders are drawn with their own blending
+			batchable = !light;
 			
 			setCamera(uiCamera);
 			
@@ -94,6 +94,9 @@ public class TitleScene extends PixelScene {
 
 		Image signs = new Image( BannerSprites.get( BannerSprites.Type.PIXEL_DUNGEON_SIGNS ) ) {
 			private float time = 0;
+			{
+				batchable = false;
+			}
 			@Override
 			public void update() {
 				super.update();
@@ -24,6 +24,7 @@ package com.shatteredpixel.shatteredpixeldungeon.sprites;
 import com.shatteredpixel.shatteredpixeldungeon.Assets;
 import com.shatteredpixel.shatteredpixeldungeon.Dungeon;
 import com.shatteredpixel.shatteredpixeldungeon.actors.Char;
+import com.shatteredpixel.shatteredpixeldungeon.actors.TurnPipeline;
 import com.shatteredpixel.shatteredpixeldungeon.effects.DarkBlock;
 import com.shatteredpixel.shatteredpixeldungeon.effects.EmoIcon;
 import com.shatteredpixel.shatteredpixeldungeon.effects.Flare;
@@ -56,7 +57,6 @@ import com.watabou.utils.Callback;
 import com.watabou.utils.PointF;
 import com.watabou.utils.Random;
 
-import java.nio.Buffer;
 
 import static com.watabou.utils.MathKt.HALF_PI;
 import static com.watabou.utils.MathKt.sqrt;
@@ -168,6 +168,8 @@ public class CharSprite extends MovieClip implements MovieClip.Listener {
 	@Override
 	public void destroy() {
 		super.destroy();
+		//a removed sprite's movement will never finish on its own
+		finishMovement();
 		if (ch != null && ch.sprite == this){
 			ch.sprite = null;
 		}
@@ -216,23 +218,19 @@ public class CharSprite extends MovieClip implements MovieClip.Listener {
 
 		play( run );
 		
+		startMovement();
+
 		motion = new PosTweener( this, worldToCamera( to ), moveInterval ) {
 			@Override
 			protected void onComplete() {
-				synchronized (CharSprite.this) {
-					isMoving = false;
-
-					motion.remove();
-					motion = null;
-					ch.onMotionComplete();
+				motion.remove();
+				motion = null;
+				ch.onMotionComplete();
 
-					CharSprite.this.notifyAll();
-				}
+				finishMovement();
 			}
 		};
 		getParent().add( motion );
-
-		isMoving = true;
 		
 		if (getVisible() && Dungeon.level.water[from] && !ch.flying) {
 			GameScene.ripple( from );
@@ -240,6 +238,35 @@ public class CharSprite extends MovieClip implements MovieClip.Listener {
 
 	}
 	
+	//the char's next turn waits for this, instead of the actor thread waiting on the sprite itself
+	private volatile TurnPipeline.Animation movement;
+
+	protected void startMovement(){
+		//a movement which is being replaced won't complete on its own
+		TurnPipeline.Animation previous = movement;
+		if (previous != null) previous.complete();
+
+		isMoving = true;
+		try {
+			movement = TurnPipeline.begin();
+		} catch (InterruptedException e) {
+			//the actor thread is being stopped, there's no turn left to wait for this movement
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	protected void finishMovement(){
+		isMoving = false;
+		TurnPipeline.Animation movement = this.movement;
+		this.movement = null;
+		if (movement != null) movement.complete();
+	}
+
+	public void awaitMovement() throws InterruptedException {
+		TurnPipeline.Animation movement = this.movement;
+		if (movement != null) movement.await();
+	}
+
 	//returns where the center of this sprite will be after it completes any motion in progress
 	public PointF destinationCenter(){
 		PosTweener motion = this.motion;
@@ -692,8 +719,7 @@ public class CharSprite extends MovieClip implements MovieClip.Listener {
 
 		if (renderShadow) {
 			if (dirty) {
-				((Buffer) vertexBuffer).position(0);
-				vertexBuffer.put(vertices);
+				putVertices();
 				if (vertexDataset == null)
 					vertexDataset = new VertexDataset(vertexBuffer);
 				else
@@ -31,6 +31,7 @@ public class GhostSprite extends MobSprite {
 	
 	public GhostSprite() {
 		super();
+		batchable = false;
 		
 		texture( Assets.Sprites.GHOST );
 		
@@ -44,7 +44,6 @@ import com.watabou.noosa.particles.Emitter;
 import com.watabou.utils.PointF;
 import com.watabou.utils.Random;
 
-import java.nio.Buffer;
 
 public class ItemSprite extends MovieClip {
 
@@ -271,8 +270,7 @@ public class ItemSprite extends MovieClip {
 
 		if (renderShadow) {
 			if (dirty) {
-				((Buffer) vertexBuffer).position(0);
-				vertexBuffer.put(vertices);
+				putVertices();
 				if (vertexDataset == null)
 					vertexDataset = new VertexDataset(vertexBuffer);
 				else
@@ -55,7 +55,7 @@ public class TenguSprite extends MobSprite {
 	
 	@Override
 	public void idle() {
-		isMoving = false;
+		finishMovement();
 		super.idle();
 	}
 	
@@ -67,7 +67,7 @@ public class TenguSprite extends MobSprite {
 		play( run );
 		turnTo( from , to );
 
-		isMoving = true;
+		startMovement();
 
 		if (Dungeon.level.water[to]) {
 			GameScene.ripple( to );
@@ -95,12 +95,7 @@ public class TenguSprite extends MobSprite {
 	@Override
 	public void onComplete( Animation anim ) {
 		if (anim == run) {
-			synchronized (this){
-				isMoving = false;
-				idle();
-
-				notifyAll();
-			}
+			idle();
 		} else {
 			super.onComplete( anim );
 		}
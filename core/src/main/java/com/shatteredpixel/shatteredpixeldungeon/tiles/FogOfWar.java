@@ -89,6 +89,8 @@ public class FogOfWar extends Image {
 	public FogOfWar( int mapWidth, int mapHeight ) {
 
 		super();
+		//re-uploads parts of its texture as it draws, and is the only user of that texture
+		batchable = false;
 
 		this.mapWidth = mapWidth;
 		this.mapHeight = mapHeight;
@@ -132,13 +134,20 @@ public class FogOfWar extends Image {
 	}
 	
 	public synchronized void updateFog(Rect update){
-		for (Rect r : toUpdate.toArray(new Rect[0])){
-			if (!r.intersect(update).isEmpty()){
-				toUpdate.remove(r);
-				toUpdate.add(r.union(update));
-				return;
+		//several updates usually come in per frame, so overlapping ones are merged.
+		// A merged area can overlap areas it didn't before, so this repeats until nothing overlaps.
+		boolean merged;
+		do {
+			merged = false;
+			for (Rect r : toUpdate){
+				if (!r.intersect(update).isEmpty()){
+					toUpdate.remove(r);
+					update = r.union(update);
+					merged = true;
+					break;
+				}
 			}
-		}
+		} while (merged);
 		toUpdate.add(update);
 	}
 
@@ -278,8 +287,39 @@ public class FogOfWar extends Image {
 			
 		}
 		
-		texture.setImage(fog);
+		if (fullUpdate) {
+			texture.setImage(fog);
+		} else {
+			uploadUpdated();
+		}
+
+	}
+
+	//uploads only the pixels which were redrawn, either as one area covering all updates,
+	// or as separate areas if that one area would mostly consist of unchanged pixels
+	private void uploadUpdated(){
+		Rect union = new Rect();
+		int area = 0;
+		for (Rect update : updating){
+			union = union.isEmpty() ? new Rect(update) : union.union(update);
+			area += update.square();
+		}
+
+		if (union.square() <= 2*area){
+			uploadArea(union);
+		} else {
+			for (Rect update : updating){
+				uploadArea(update);
+			}
+		}
+	}
 
+	private void uploadArea( Rect update ){
+		texture.updateRect(
+				update.left * PIX_PER_TILE,
+				update.top * PIX_PER_TILE,
+				update.width() * PIX_PER_TILE,
+				update.height() * PIX_PER_TILE);
 	}
 	
 	private boolean wall(int cell) {
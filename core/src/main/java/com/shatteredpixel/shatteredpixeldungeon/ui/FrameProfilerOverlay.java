@@ -0,0 +1,62 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2022 Evan Debenham
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package com.shatteredpixel.shatteredpixeldungeon.ui;
+
+import com.shatteredpixel.shatteredpixeldungeon.scenes.PixelScene;
+import com.watabou.noosa.FrameProfiler;
+import com.watabou.noosa.Game;
+import com.watabou.noosa.ui.Component;
+
+//debug overlay showing where frame time goes, see FrameProfiler
+public class FrameProfilerOverlay extends Component {
+
+	private static final int CHILDREN = 5;
+	private static final float REFRESH_DELAY = 0.5f;
+
+	private RenderedTextBlock text;
+	private float refreshTimer = 0;
+
+	@Override
+	protected void createChildren() {
+		text = PixelScene.renderTextBlock(5);
+		text.setHightlighting(false);
+		text.hardlight(0xFFFF66);
+		add(text);
+	}
+
+	@Override
+	protected void layout() {
+		text.setPos(x, y);
+	}
+
+	@Override
+	public void update() {
+		super.update();
+
+		refreshTimer -= Game.elapsed;
+		if (refreshTimer > 0) return;
+		refreshTimer = REFRESH_DELAY;
+
+		text.text(FrameProfiler.summary(CHILDREN), (int)width);
+		layout();
+	}
+}
@@ -28,6 +28,7 @@ import com.shatteredpixel.shatteredpixeldungeon.items.Item;
 import com.shatteredpixel.shatteredpixeldungeon.items.armor.Armor;
 import com.shatteredpixel.shatteredpixeldungeon.items.rings.Ring;
 import com.shatteredpixel.shatteredpixeldungeon.items.weapon.Weapon;
+import com.shatteredpixel.shatteredpixeldungeon.messages.MessageKey;
 import com.shatteredpixel.shatteredpixeldungeon.messages.Messages;
 import com.shatteredpixel.shatteredpixeldungeon.scenes.PixelScene;
 import com.shatteredpixel.shatteredpixeldungeon.sprites.ItemSprite;
@@ -61,30 +62,37 @@ public class ItemSlot extends Button {
 
 	private static final String TXT_LEVEL	= "%+d";
 
+	private static final MessageKey NAME_CHEST         = new MessageKey(Heap.class, "chest");
+	private static final MessageKey NAME_LOCKED_CHEST  = new MessageKey(Heap.class, "locked_chest");
+	private static final MessageKey NAME_CRYSTAL_CHEST = new MessageKey(Heap.class, "crystal_chest");
+	private static final MessageKey NAME_TOMB          = new MessageKey(Heap.class, "tomb");
+	private static final MessageKey NAME_SKELETON      = new MessageKey(Heap.class, "skeleton");
+	private static final MessageKey NAME_REMAINS       = new MessageKey(Heap.class, "remains");
+
 	// Special "virtual items"
 	public static final Item CHEST = new Item() {
 		public int image() { return ItemSpriteSheet.CHEST; }
-		public String name() { return Messages.get(Heap.class, "chest"); }
+		public String name() { return NAME_CHEST.get(); }
 	};
 	public static final Item LOCKED_CHEST = new Item() {
 		public int image() { return ItemSpriteSheet.LOCKED_CHEST; }
-		public String name() { return Messages.get(Heap.class, "locked_chest"); }
+		public String name() { return NAME_LOCKED_CHEST.get(); }
 	};
 	public static final Item CRYSTAL_CHEST = new Item() {
 		public int image() { return ItemSpriteSheet.CRYSTAL_CHEST; }
-		public String name() { return Messages.get(Heap.class, "crystal_chest"); }
+		public String name() { return NAME_CRYSTAL_CHEST.get(); }
 	};
 	public static final Item TOMB = new Item() {
 		public int image() { return ItemSpriteSheet.TOMB; }
-		public String name() { return Messages.get(Heap.class, "tomb"); }
+		public String name() { return NAME_TOMB.get(); }
 	};
 	public static final Item SKELETON = new Item() {
 		public int image() { return ItemSpriteSheet.BONES; }
-		public String name() { return Messages.get(Heap.class, "skeleton"); }
+		public String name() { return NAME_SKELETON.get(); }
 	};
 	public static final Item REMAINS = new Item() {
 		public int image() { return ItemSpriteSheet.REMAINS; }
-		public String name() { return Messages.get(Heap.class, "remains"); }
+		public String name() { return NAME_REMAINS.get(); }
 	};
 	
 	public ItemSlot() {
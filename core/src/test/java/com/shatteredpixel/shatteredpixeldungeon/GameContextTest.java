@@ -0,0 +1,120 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2022 Evan Debenham
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package com.shatteredpixel.shatteredpixeldungeon;
+
+import com.shatteredpixel.shatteredpixeldungeon.actors.Actor;
+import com.watabou.utils.Random;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class GameContextTest {
+
+	private static class Idle extends Actor {
+		@Override
+		protected boolean act() {
+			diactivate();
+			return true;
+		}
+	}
+
+	private static long[] seededRolls( long seed, int count ){
+		long[] result = new long[count];
+		Random.pushGenerator(seed);
+		for (int i = 0; i < count; i++){
+			result[i] = Random.Long();
+		}
+		Random.popGenerator();
+		return result;
+	}
+
+	@Test
+	public void currentFollowsBinding(){
+		GameContext context = GameContext.create();
+		GameContext outside = GameContext.current();
+
+		AtomicReference<GameContext> inside = new AtomicReference<>();
+		context.run(() -> inside.set(GameContext.current()));
+
+		assertSame(context, inside.get());
+		assertSame(outside, GameContext.current());
+	}
+
+	@Test
+	public void parallelRunsAreDeterministic() throws Exception {
+		final int threads = 4;
+		final long[][] results = new long[threads][];
+		Thread[] workers = new Thread[threads];
+		for (int t = 0; t < threads; t++){
+			final int index = t;
+			final GameContext context = GameContext.create();
+			workers[t] = new Thread(() -> context.run(() -> {
+				//pushes interleave with the other threads', but each stack is private to its context
+				results[index] = seededRolls(42, 10_000);
+			}));
+		}
+		for (Thread w : workers) w.start();
+		for (Thread w : workers) w.join();
+
+		long[] expected = seededRolls(42, 10_000);
+		for (long[] result : results){
+			assertArrayEquals(expected, result);
+		}
+	}
+
+	@Test
+	public void actorsAreIsolated(){
+		GameContext a = GameContext.create();
+		GameContext b = GameContext.create();
+
+		Actor inA = new Idle();
+		a.run(() -> Actor.add(inA));
+
+		int[] id = new int[1];
+		a.run(() -> id[0] = inA.id());
+		a.run(() -> assertSame(inA, Actor.findById(id[0])));
+		b.run(() -> assertNull(Actor.findById(id[0])));
+		b.run(() -> assertEquals(0, Actor.all().size()));
+	}
+
+	@Test
+	public void resetKeepsContextInSync(){
+		GameContext context = GameContext.create();
+		long[] rolls = new long[1];
+
+		context.run(() -> {
+			Random.pushGenerator(5);
+			Random.resetGenerators();
+			Random.pushGenerator(7);
+		});
+		//the context must rebind the stack which was reset, not the one from before the reset
+		context.run(() -> rolls[0] = Random.Long());
+
+		assertEquals(seededRolls(7, 1)[0], rolls[0]);
+	}
+}
@@ -0,0 +1,140 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2022 Evan Debenham
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package com.shatteredpixel.shatteredpixeldungeon.messages;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class MessageCatalogTest {
+
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+
+	private static Properties read( File file ) throws IOException {
+		Properties props = new Properties();
+		try (Reader in = new InputStreamReader(Files.newInputStream(file.toPath()), UTF8)){
+			props.load(in);
+		}
+		return props;
+	}
+
+	//every generated catalog must give back exactly the text of its .properties file, plus english for missing keys
+	@Test
+	public void catalogsMatchTheirSources() throws IOException {
+		File sources = new File(System.getProperty("messageSources"));
+		File catalogs = new File(System.getProperty("messageCatalogs"), "messages");
+
+		int checked = 0;
+		for (File dir : sources.listFiles(File::isDirectory)){
+			File root = new File(dir, dir.getName() + ".properties");
+			if (!root.exists()) continue;
+			Properties english = read(root);
+
+			for (File file : dir.listFiles((d, name) -> name.matches(dir.getName() + "(_\\w+)?\\.properties"))){
+				Properties expected = new Properties();
+				expected.putAll(english);
+				if (!file.equals(root)) expected.putAll(read(file));
+
+				String name = file.getName().replace(".properties", MessageCatalog.EXTENSION);
+				File compiled = new File(new File(catalogs, dir.getName()), name);
+				MessageCatalog catalog = MessageCatalog.compiled(Files.readAllBytes(compiled.toPath()));
+
+				for (String key : expected.stringPropertyNames()){
+					assertEquals(name + ": " + key, expected.getProperty(key), catalog.get(key));
+				}
+				assertNull(catalog.get(dir.getName() + ".not_a_real_key"));
+				checked++;
+			}
+		}
+		assertTrue("no catalogs were checked", checked > 0);
+	}
+
+	//writes a catalog in the layout described in MessageCatalog, entries must already be sorted by key hash
+	private static byte[] write( String[][] entries ) throws IOException {
+		ByteArrayOutputStream pool = new ByteArrayOutputStream();
+		DataOutputStream poolOut = new DataOutputStream(pool);
+		int[] keyOffsets = new int[entries.length];
+		int[] valueOffsets = new int[entries.length];
+		for (int i = 0; i < entries.length; i++){
+			for (int j = 0; j < 2; j++){
+				int offset = poolOut.size();
+				byte[] bytes = entries[i][j].getBytes(UTF8);
+				poolOut.writeInt(bytes.length);
+				poolOut.write(bytes);
+				if (j == 0) keyOffsets[i] = offset;
+				else        valueOffsets[i] = offset;
+			}
+		}
+
+		ByteArrayOutputStream result = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(result);
+		out.writeInt(0x5350444D);
+		out.writeInt(1);
+		out.writeInt(entries.length);
+		for (String[] entry : entries)  out.writeInt(entry[0].hashCode());
+		for (int offset : keyOffsets)   out.writeInt(offset);
+		for (int offset : valueOffsets) out.writeInt(offset);
+		pool.writeTo(out);
+		return result.toByteArray();
+	}
+
+	@Test
+	public void collidingHashesAndUnicode() throws IOException {
+		//"Aa" and "BB" share a hash code, so both sit in the same run of hashes
+		assertEquals("Aa".hashCode(), "BB".hashCode());
+
+		List<String[]> entries = new ArrayList<>();
+		entries.add(new String[]{"Aa", "first"});
+		entries.add(new String[]{"BB", "second"});
+		entries.add(new String[]{"a", ""});
+		entries.add(new String[]{"ключ", "значение ✓"});
+		Collections.sort(entries, (a, b) -> Integer.compare(a[0].hashCode(), b[0].hashCode()));
+
+		MessageCatalog catalog = MessageCatalog.compiled(write(entries.toArray(new String[0][])));
+		assertEquals("first", catalog.get("Aa"));
+		assertEquals("second", catalog.get("BB"));
+		assertEquals("", catalog.get("a"));
+		assertEquals("значение ✓", catalog.get("ключ"));
+		assertNull(catalog.get("C#"));
+		assertNull(catalog.get("b"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsOtherFiles(){
+		MessageCatalog.compiled(new byte[]{'#', ' ', 'n', 'o', 't', ' ', 'a', ' ', 'c', 'a', 't', 'a'});
+	}
+}
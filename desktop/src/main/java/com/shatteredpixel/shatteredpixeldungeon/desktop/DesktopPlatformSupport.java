@@ -30,6 +30,7 @@ import com.watabou.noosa.Game;
 import com.watabou.utils.PlatformSupport;
 import com.watabou.utils.Point;
 
+import java.lang.management.ManagementFactory;
 import java.util.HashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -75,6 +76,22 @@ public class DesktopPlatformSupport extends PlatformSupport {
 		return true; //no easy way to check this in desktop, just assume user doesn't care
 	}
 
+	private static java.lang.management.ThreadMXBean threadBean;
+
+	@Override
+	public long threadAllocatedBytes() {
+		if (threadBean == null){
+			threadBean = ManagementFactory.getThreadMXBean();
+		}
+		//allocation tracking is a HotSpot extension, other VMs may not provide it
+		if (threadBean instanceof com.sun.management.ThreadMXBean
+				&& ((com.sun.management.ThreadMXBean) threadBean).isThreadAllocatedMemorySupported()
+				&& ((com.sun.management.ThreadMXBean) threadBean).isThreadAllocatedMemoryEnabled()){
+			return ((com.sun.management.ThreadMXBean) threadBean).getThreadAllocatedBytes(Thread.currentThread().getId());
+		}
+		return -1;
+	}
+
 	/* FONT SUPPORT */
 	
 	//custom pixel font, for use with Latin and Cyrillic languages